@@ -0,0 +1,67 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a list of values one {@code String.format} at a time with {@link SensitiveBatch}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"1000", "100000"})
+    public int count;
+
+    private List<MaskedField> values;
+
+    private final SensitiveBatch batch = new SensitiveBatch(",", 0, -1, 4);
+
+    @Setup
+    public void setup() {
+        this.values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) values.add(new MaskedField(String.format("%016d", i * 7919L)));
+    }
+
+    @Benchmark
+    public StringBuilder format() {
+        final StringBuilder out = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) out.append(',');
+            out.append(String.format("%.4s", values.get(i)));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder batch() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        batch.write(out, values);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder batchParallel() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        batch.writeParallel(out, values);
+        return out;
+    }
+}
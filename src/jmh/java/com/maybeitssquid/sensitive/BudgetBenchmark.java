@@ -0,0 +1,78 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExposureBudget} under contention from eight threads, both spending the budget directly and through
+ * rendering. Values are spread across many stripes, except in the {@code hot} benchmarks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BudgetBenchmark {
+
+    private static final ExposureBudget PER_VALUE = ExposureBudget.perValue(Long.MAX_VALUE, Duration.ofDays(1));
+
+    private static final ExposureBudget SHARED = ExposureBudget.shared(Long.MAX_VALUE, Duration.ofDays(1));
+
+    private static final class Budgeted extends MaskedField {
+        Budgeted(final CharSequence sensitive) {
+            super(sensitive, '#', false, true);
+        }
+
+        @Override
+        protected ExposureBudget budget() {
+            return PER_VALUE;
+        }
+    }
+
+    private Budgeted[] values;
+
+    @Setup
+    public void setup() {
+        values = new Budgeted[1024];
+        for (int i = 0; i < values.length; i++) values[i] = new Budgeted(String.format("%016d", i * 7919L));
+    }
+
+    private Budgeted next() {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    @Benchmark
+    public boolean perValue() {
+        return PER_VALUE.tryExpose(next());
+    }
+
+    @Benchmark
+    public boolean perValueHot() {
+        return PER_VALUE.tryExpose(values[0]);
+    }
+
+    @Benchmark
+    public boolean shared() {
+        return SHARED.tryExpose(next());
+    }
+
+    @Benchmark
+    public String format() {
+        return String.format("%.4s", next());
+    }
+}
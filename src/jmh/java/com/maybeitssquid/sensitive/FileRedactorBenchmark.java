@@ -0,0 +1,83 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link FileRedactor} scales with threads over a 256 MiB log file. Each operation redacts the whole
+ * file, so operations per second times 256 is MiB per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileRedactorBenchmark {
+
+    private static final int SIZE = 256 << 20;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ForkJoinPool pool;
+
+    private FileRedactor redactor;
+
+    private Path in;
+
+    private Path out;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.in = Files.createTempFile("redactor", ".log");
+        this.out = Files.createTempFile("redactor", ".out");
+        final Random random = new Random(42);
+        try (Writer writer = Files.newBufferedWriter(in, StandardCharsets.UTF_8)) {
+            final StringBuilder line = new StringBuilder();
+            for (long written = 0; written < SIZE; written += line.length()) {
+                line.setLength(0);
+                line.append("2024-01-15 12:00:00 INFO order ").append(random.nextInt(1000000))
+                        .append(" accepted for customer ").append(random.nextInt(100000));
+                if (random.nextInt(10) == 0) line.append(" card 4111 1111 1111 1111");
+                line.append('\n');
+                writer.append(line);
+            }
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.redactor = new FileRedactor(new NumberScanner(), StandardCharsets.UTF_8, FileRedactor.DEFAULT_CHUNK,
+                pool, 2 * threads + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(in);
+        Files.deleteIfExists(out);
+    }
+
+    @Benchmark
+    public FileRedactor.Result redact() throws IOException {
+        return redactor.redact(in, out);
+    }
+}
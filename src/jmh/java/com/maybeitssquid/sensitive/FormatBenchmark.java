@@ -0,0 +1,141 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Formatter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Measures rendering of {@link Sensitive} values through {@link Sensitive#toString()} and through a
+ * {@link Formatter}, for each combination of precision, width and flags used in log statements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    /**
+     * A card number held as four groups, rendered with delimiters and masked.
+     */
+    static class CardNumber extends SensitiveArray<CharSequence> {
+        private static final BiFunction<CharSequence[], Integer, CharSequence> REDACTOR =
+                (t, p) -> Redactor.mask().apply(SensitiveArray.delimit().apply(t), p);
+
+        CardNumber(final CharSequence[] groups) {
+            super(groups);
+        }
+
+        @Override
+        protected BiFunction<CharSequence[], Integer, CharSequence> redactor() {
+            return REDACTOR;
+        }
+    }
+
+    /**
+     * The same card number, masked segment by segment without joining the plaintext.
+     */
+    static class SegmentedCardNumber extends SensitiveArray<CharSequence> {
+        private static final Redactor<CharSequence[]> REDACTOR = SensitiveArray.segmented(Redactor.mask());
+
+        SegmentedCardNumber(final CharSequence[] groups) {
+            super(groups);
+        }
+
+        @Override
+        protected Redactor<CharSequence[]> redactor() {
+            return REDACTOR;
+        }
+    }
+
+    @Param({"9", "256"})
+    public int length;
+
+    @Param({"%s", "%.4s", "%12s", "%-12.4s", "%#s", "%S", "%#-20.4S"})
+    public String format;
+
+    private MaskedField field;
+
+    private MaskedField memoized;
+
+    private CardNumber card;
+
+    private SegmentedCardNumber segmented;
+
+    private StringBuilder buffer;
+
+    private Formatter formatter;
+
+    @Setup
+    public void setup() {
+        final StringBuilder plain = new StringBuilder(length);
+        for (int i = 0; i < length; i++) plain.append((char) ('a' + i % 26));
+        this.field = new MaskedField(plain.toString());
+        this.memoized = new MaskedField(plain.toString(), Redactor.DEFAULT_MASK, true);
+
+        final CharSequence[] groups = new CharSequence[Math.max(1, length / 4)];
+        for (int i = 0; i < groups.length; i++) groups[i] = plain.subSequence(i * 4, Math.min(length, i * 4 + 4));
+        this.card = new CardNumber(groups);
+        this.segmented = new SegmentedCardNumber(groups);
+
+        this.buffer = new StringBuilder(2 * length + 32);
+        this.formatter = new Formatter(this.buffer);
+    }
+
+    @Benchmark
+    public String maskedFieldToString() {
+        return field.toString();
+    }
+
+    @Benchmark
+    public String maskedFieldFormat() {
+        return String.format(format, field);
+    }
+
+    @Benchmark
+    public StringBuilder maskedFieldReusedFormatter() {
+        buffer.setLength(0);
+        formatter.format(format, field);
+        return buffer;
+    }
+
+    @Benchmark
+    public StringBuilder memoizedReusedFormatter() {
+        buffer.setLength(0);
+        formatter.format(format, memoized);
+        return buffer;
+    }
+
+    @Benchmark
+    public String sensitiveArrayToString() {
+        return card.toString();
+    }
+
+    @Benchmark
+    public String sensitiveArrayFormat() {
+        return String.format(format, card);
+    }
+
+    @Benchmark
+    public String segmentedArrayToString() {
+        return segmented.toString();
+    }
+
+    @Benchmark
+    public String segmentedArrayFormat() {
+        return String.format(format, segmented);
+    }
+}
@@ -0,0 +1,109 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a large graph of records holding {@code Sensitive} fields with {@link SensitiveJsonWriter} and
+ * {@link SensitiveCsvWriter} against the {@code toString()} route, where each value is converted to a {@code String}
+ * and then escaped, as general-purpose serializers do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private List<Map<String, Object>> graph;
+
+    private final StringBuilder out = new StringBuilder();
+
+    @Setup
+    public void setup() {
+        graph = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            final Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", i);
+            record.put("name", "Customer " + i);
+            record.put("ssn", new MaskedField(String.format("%03d-%02d-%04d", i % 900, i % 100, i % 10000)));
+            record.put("card", new MaskedField(String.format("%016d", i * 7919L)));
+            record.put("account", new MaskedField(String.format("%012d", i * 104729L), '*'));
+            record.put("active", i % 2 == 0);
+            graph.add(record);
+        }
+    }
+
+    @Benchmark
+    public StringBuilder writer() throws IOException {
+        out.setLength(0);
+        new SensitiveJsonWriter(out).value(graph);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder toStringRoute() {
+        out.setLength(0);
+        out.append('[');
+        for (int r = 0; r < graph.size(); r++) {
+            if (r > 0) out.append(',');
+            out.append('{');
+            boolean first = true;
+            for (final Map.Entry<String, Object> entry : graph.get(r).entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                escape(entry.getKey());
+                out.append(':');
+                final Object value = entry.getValue();
+                if (value instanceof Number || value instanceof Boolean) {
+                    out.append(value);
+                } else {
+                    escape(value.toString());
+                }
+            }
+            out.append('}');
+        }
+        return out.append(']');
+    }
+
+    private void escape(final String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') out.append('\\');
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    @Benchmark
+    public StringBuilder csv() throws IOException {
+        out.setLength(0);
+        final SensitiveCsvWriter csv = new SensitiveCsvWriter(out);
+        for (final Map<String, Object> record : graph) {
+            for (final Object value : record.values()) csv.field(value);
+            csv.endRecord();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,140 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures each {@link Redactor} combinator and the {@link SensitiveArray} conversion functions in isolation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RedactorBenchmark {
+
+    @Param({"9", "256"})
+    public int length;
+
+    @Param({"-1", "0", "4"})
+    public int precision;
+
+    private final Redactor<CharSequence> mask = Redactor.mask();
+
+    private final Redactor<CharSequence> maskView = Redactor.maskView();
+
+    private final Redactor<CharSequence> maskLetters = Redactor.mask(CharPredicate.lettersOrDigits());
+
+    private final Redactor<CharSequence> limitedMax = Redactor.limited(4, Redactor.mask());
+
+    private final Redactor<CharSequence> limitedHalf = Redactor.limited(Redactor.mask());
+
+    private final Redactor<CharSequence> defaulted = Redactor.defaulted(Redactor.mask());
+
+    private final Redactor<CharSequence> composed = Redactor.limited(4, Redactor.defaulted(Redactor.mask('*')));
+
+    private final Redactor<CharSequence> compiled = Redactor.builder().max(4).defaultHalf().mask('*').build();
+
+    private final Function<CharSequence[], CharSequence> concatenate = SensitiveArray.concatenate();
+
+    private final Function<CharSequence[], CharSequence> delimit = SensitiveArray.delimit();
+
+    private final Function<CharSequence[], CharSequence> delimitExtractor = SensitiveArray.delimit("-", Function.identity());
+
+    private String plain;
+
+    private CharSequence[] segments;
+
+    @Setup
+    public void setup() {
+        final StringBuilder buffer = new StringBuilder(length);
+        for (int i = 0; i < length; i++) buffer.append((char) ('0' + i % 10));
+        this.plain = buffer.toString();
+        this.segments = new CharSequence[Math.max(1, length / 4)];
+        for (int i = 0; i < segments.length; i++) segments[i] = plain.substring(i * 4, Math.min(length, i * 4 + 4));
+    }
+
+    @Benchmark
+    public CharSequence mask() {
+        return mask.apply(plain, precision);
+    }
+
+    /**
+     * Baseline that builds the mask run with {@link String#repeat(int)} on every call, for comparison with the shared
+     * runs used by {@link Redactor#mask()}.
+     */
+    @Benchmark
+    public CharSequence maskRepeat() {
+        final int len = plain.length();
+        if (precision >= len) {
+            return plain;
+        } else if (precision <= 0) {
+            return Character.toString(Redactor.DEFAULT_MASK).repeat(len);
+        } else {
+            return Character.toString(Redactor.DEFAULT_MASK).repeat(len - precision) + plain.subSequence(len - precision, len);
+        }
+    }
+
+    @Benchmark
+    public CharSequence maskView() {
+        return maskView.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence maskLetters() {
+        return maskLetters.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence limitedMax() {
+        return limitedMax.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence limitedHalf() {
+        return limitedHalf.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence defaulted() {
+        return defaulted.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence composed() {
+        return composed.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence compiled() {
+        return compiled.apply(plain, precision);
+    }
+
+    @Benchmark
+    public CharSequence concatenate() {
+        return concatenate.apply(segments);
+    }
+
+    @Benchmark
+    public CharSequence delimit() {
+        return delimit.apply(segments);
+    }
+
+    @Benchmark
+    public CharSequence delimitExtractor() {
+        return delimitExtractor.apply(segments);
+    }
+}
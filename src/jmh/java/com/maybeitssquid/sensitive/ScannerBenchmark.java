@@ -0,0 +1,104 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NumberScanner} throughput over one mebibyte of log-like text. Each operation scans the whole text,
+ * so operations per second are mebibytes per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScannerBenchmark {
+
+    private static final int SIZE = 1 << 20;
+
+    /** Percentage of lines containing a card or Social Security number. */
+    @Param({"0", "10", "100"})
+    public int density;
+
+    private final NumberScanner scanner = new NumberScanner();
+
+    private final StringBuilder out = new StringBuilder(SIZE);
+
+    private String text;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+        final StringBuilder text = new StringBuilder(SIZE + 128);
+        int line = 0;
+        while (text.length() < SIZE) {
+            text.append("2024-01-15 12:00:").append(line % 60).append(" INFO order ").append(line)
+                    .append(" accepted for customer ").append(random.nextInt(100000));
+            if (random.nextInt(100) < density) {
+                text.append(line % 2 == 0 ? " card 4111 1111 1111 1111" : " ssn 123-45-6789");
+            }
+            text.append('\n');
+            line++;
+        }
+        text.setLength(SIZE);
+        this.text = text.toString();
+        this.file = Files.createTempFile("scanner", ".log");
+        Files.write(file, this.text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public StringBuilder sequence() throws IOException {
+        out.setLength(0);
+        scanner.scan(text, out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder reader() throws IOException {
+        out.setLength(0);
+        scanner.scan(new StringReader(text), out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder mapped() throws IOException {
+        out.setLength(0);
+        scanner.scan(file, StandardCharsets.UTF_8, out);
+        return out;
+    }
+
+    @Benchmark
+    public Writer mappedToNull() throws IOException {
+        final Writer out = Writer.nullWriter();
+        scanner.scan(file, StandardCharsets.UTF_8, out);
+        return out;
+    }
+}
@@ -0,0 +1,73 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Tokenizer} throughput when tokens are found in the cache, when the cache is disabled so that every
+ * call runs the cipher, and when the working set is larger than the cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+
+    private static final byte[] KEY = new byte[32];
+
+    private final Tokenizer cached = new Tokenizer(KEY, 4096);
+
+    private final Tokenizer uncached = new Tokenizer(KEY, 0);
+
+    private final Tokenizer small = new Tokenizer(KEY, 256);
+
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        values = new String[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.format("4111-%04d-%04d-%04d", i, i * 7 % 10000, i * 13 % 10000);
+        }
+        for (final String value : values) cached.tokenize(value);
+    }
+
+    private String next() {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    @Benchmark
+    public String hit() {
+        return cached.tokenize(next());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String hitContended() {
+        return cached.tokenize(next());
+    }
+
+    @Benchmark
+    public String miss() {
+        return uncached.tokenize(next());
+    }
+
+    @Benchmark
+    public String churn() {
+        return small.tokenize(next());
+    }
+}
@@ -0,0 +1,83 @@
+package com.maybeitssquid.sensitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and {@link DigitMasks#BEST fastest available} digit masking on wide inputs, and measures
+ * {@link Redactor#mask()} on the same inputs. On Java 21 the fastest implementation is vectorized, because the JMH
+ * forks add {@code jdk.incubator.vector}; elsewhere both paths are scalar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorBenchmark {
+
+    @Param({"64", "1024", "65536"})
+    public int length;
+
+    /** Percentage of characters that are digits. */
+    @Param({"10", "80"})
+    public int density;
+
+    private final Redactor<CharSequence> scalar = new DigitMaskRedactor('#', DigitMask.SCALAR);
+
+    private final Redactor<CharSequence> best = new DigitMaskRedactor('#', DigitMasks.BEST);
+
+    private final Redactor<CharSequence> mask = Redactor.mask();
+
+    private String text;
+
+    private char[] chars;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(i * 37 % 100 < density ? (char) ('0' + i % 10) : i % 7 == 0 ? '-' : 'a');
+        }
+        text = builder.toString();
+        chars = new char[length];
+    }
+
+    @Benchmark
+    public int countScalar() {
+        text.getChars(0, length, chars, 0);
+        return DigitMask.SCALAR.count(chars, length);
+    }
+
+    @Benchmark
+    public int countBest() {
+        text.getChars(0, length, chars, 0);
+        return DigitMasks.BEST.count(chars, length);
+    }
+
+    @Benchmark
+    public CharSequence maskDigitsScalar() {
+        return scalar.redact(text, 4);
+    }
+
+    @Benchmark
+    public CharSequence maskDigitsBest() {
+        return best.redact(text, 4);
+    }
+
+    @Benchmark
+    public CharSequence mask() {
+        return mask.redact(text, 4);
+    }
+}
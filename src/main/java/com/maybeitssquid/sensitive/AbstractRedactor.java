@@ -0,0 +1,18 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * Base for redactors implemented on the primitive {@link IntRedactor#redact(Object, int)} path. The boxed
+ * {@link #apply(Object, Integer)} simply unboxes and delegates.
+ *
+ * @param <T> the type of data to protect.
+ */
+abstract class AbstractRedactor<T> implements Redactor<T> {
+
+    @Override
+    public final CharSequence apply(final T t, final Integer precision) {
+        return redact(t, precision);
+    }
+
+    @Override
+    public abstract CharSequence redact(T t, int precision);
+}
@@ -0,0 +1,131 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * A test on a single character, used to select the significant characters that
+ * {@link Redactor#mask(char, CharPredicate)} masks. Characters that fail the test, such as separators, are left in
+ * place. Unlike {@code Predicate<Character>}, the character is never boxed. Supplementary characters, which take a
+ * surrogate pair, are tested as one code point with {@link #testCodePoint(int)}.
+ */
+@FunctionalInterface
+public interface CharPredicate {
+
+    /**
+     * Tests a character.
+     *
+     * @param c the character.
+     * @return {@code true} if the character is significant.
+     */
+    boolean test(char c);
+
+    /**
+     * Tests a code point. By default, only characters in the Basic Multilingual Plane can pass, as {@link #test(char)}
+     * does; predicates that classify supplementary characters override this.
+     *
+     * @param codePoint the code point.
+     * @return {@code true} if the code point is significant.
+     */
+    default boolean testCodePoint(final int codePoint) {
+        return Character.isBmpCodePoint(codePoint) && test((char) codePoint);
+    }
+
+    /**
+     * Counts the significant characters in a sequence. Pass {@code predicate::count} as the length function of
+     * {@link Redactor#limited(java.util.function.Function, java.util.function.BiFunction)} or
+     * {@link Redactor#defaulted(java.util.function.Function, java.util.function.BiFunction)} to base their half-length
+     * limits on the number of significant characters.
+     *
+     * @param text the text.
+     * @return the number of characters that pass the test, counting a surrogate pair as one.
+     */
+    default int count(final CharSequence text) {
+        final int len = text.length();
+        int count = 0;
+        for (int i = 0; i < len; ) {
+            final int codePoint = Character.codePointAt(text, i);
+            if (testCodePoint(codePoint)) count++;
+            i += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a predicate that passes characters that pass this predicate or another.
+     *
+     * @param other the other predicate.
+     * @return the combined predicate.
+     */
+    default CharPredicate or(final CharPredicate other) {
+        final CharPredicate self = this;
+        return new CharPredicate() {
+            @Override
+            public boolean test(final char c) {
+                return self.test(c) || other.test(c);
+            }
+
+            @Override
+            public boolean testCodePoint(final int codePoint) {
+                return self.testCodePoint(codePoint) || other.testCodePoint(codePoint);
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate that passes characters that fail this predicate.
+     *
+     * @return the negated predicate.
+     */
+    default CharPredicate negate() {
+        final CharPredicate self = this;
+        return new CharPredicate() {
+            @Override
+            public boolean test(final char c) {
+                return !self.test(c);
+            }
+
+            @Override
+            public boolean testCodePoint(final int codePoint) {
+                return !self.testCodePoint(codePoint);
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate that passes the ASCII digits {@code 0} to {@code 9}. Masking with this predicate uses the
+     * same bulk path as {@link Redactor#maskDigits(char)}.
+     *
+     * @return a predicate for ASCII digits.
+     */
+    static CharPredicate digits() {
+        return CharPredicates.DIGITS;
+    }
+
+    /**
+     * Returns a predicate that passes letters, as {@link Character#isLetter(int)} does, including supplementary letters
+     * such as CJK Extension B ideographs.
+     *
+     * @return a predicate for letters.
+     */
+    static CharPredicate letters() {
+        return CharPredicates.LETTERS;
+    }
+
+    /**
+     * Returns a predicate that passes letters and digits, as {@link Character#isLetterOrDigit(int)} does, including
+     * supplementary characters.
+     *
+     * @return a predicate for letters and digits.
+     */
+    static CharPredicate lettersOrDigits() {
+        return CharPredicates.LETTERS_OR_DIGITS;
+    }
+
+    /**
+     * Returns a predicate that passes any of the given characters. ASCII characters are looked up in a table.
+     *
+     * @param chars the characters to pass.
+     * @return a predicate for the characters.
+     */
+    static CharPredicate anyOf(final CharSequence chars) {
+        return CharPredicates.anyOf(chars);
+    }
+}
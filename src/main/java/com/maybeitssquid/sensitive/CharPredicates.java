@@ -0,0 +1,53 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * Predefined {@link CharPredicate} instances. Kept out of the public interface so that the constants are not part of
+ * its API.
+ */
+final class CharPredicates {
+
+    static final CharPredicate DIGITS = DigitMask::isDigit;
+
+    static final CharPredicate LETTERS = new CharPredicate() {
+        @Override
+        public boolean test(final char c) {
+            return Character.isLetter(c);
+        }
+
+        @Override
+        public boolean testCodePoint(final int codePoint) {
+            return Character.isLetter(codePoint);
+        }
+    };
+
+    static final CharPredicate LETTERS_OR_DIGITS = new CharPredicate() {
+        @Override
+        public boolean test(final char c) {
+            return Character.isLetterOrDigit(c);
+        }
+
+        @Override
+        public boolean testCodePoint(final int codePoint) {
+            return Character.isLetterOrDigit(codePoint);
+        }
+    };
+
+    private CharPredicates() {
+    }
+
+    static CharPredicate anyOf(final CharSequence chars) {
+        final boolean[] ascii = new boolean[128];
+        final StringBuilder other = new StringBuilder();
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < ascii.length) {
+                ascii[c] = true;
+            } else {
+                other.append(c);
+            }
+        }
+        if (other.length() == 0) return c -> c < ascii.length && ascii[c];
+        final String rest = other.toString();
+        return c -> c < ascii.length ? ascii[c] : rest.indexOf(c) >= 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * A redactor that replaces all but the rightmost <em>precision</em> significant characters with a masking character,
+ * leaving other characters in place. Backs {@link Redactor#mask(char, CharPredicate)}. The rendition is written right
+ * to left in one pass into a buffer the length of the input. Characters are tested as code points, so a supplementary
+ * character counts as one significant character and, when masked, both halves of its surrogate pair are replaced.
+ */
+final class ClassMaskRedactor extends AbstractRedactor<CharSequence> {
+
+    private final char masking;
+
+    private final CharPredicate significant;
+
+    ClassMaskRedactor(final char masking, final CharPredicate significant) {
+        this.masking = masking;
+        this.significant = significant;
+    }
+
+    @Override
+    public CharSequence redact(final CharSequence t, final int precision) {
+        final int len = t.length();
+        if (precision >= len) return t;
+        final char[] chars = new char[len];
+        int exposed = Math.max(0, precision);
+        boolean masked = false;
+        for (int i = len - 1; i >= 0; i--) {
+            final char c = t.charAt(i);
+            final boolean pair = i > 0 && Character.isLowSurrogate(c) && Character.isHighSurrogate(t.charAt(i - 1));
+            if (!(pair ? significant.testCodePoint(Character.toCodePoint(t.charAt(i - 1), c))
+                    : significant.test(c))) {
+                chars[i] = c;
+                if (pair) chars[--i] = t.charAt(i);
+            } else if (exposed > 0) {
+                chars[i] = c;
+                if (pair) chars[--i] = t.charAt(i);
+                exposed--;
+            } else {
+                chars[i] = masking;
+                if (pair) chars[--i] = masking;
+                masked = true;
+            }
+        }
+        return masked ? new String(chars) : t;
+    }
+
+    /**
+     * Returns the length of the input, since masking replaces characters one for one.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return the length of the input.
+     */
+    @Override
+    public int redactedLength(final CharSequence t, final int precision) {
+        return t.length();
+    }
+
+    /**
+     * Returns whether the precision is positive, since no precision masks every significant character.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return {@code true} if the precision is positive.
+     */
+    @Override
+    public boolean exposes(final CharSequence t, final int precision) {
+        return precision > 0;
+    }
+}
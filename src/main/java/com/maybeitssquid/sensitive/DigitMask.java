@@ -0,0 +1,71 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * Counts and masks the ASCII digits in a character buffer, one character at a time. Backs
+ * {@link Redactor#maskDigits(char)}. On Java 21 with the {@code jdk.incubator.vector} module, a vectorized subclass is
+ * used instead; see {@link DigitMasks#BEST}.
+ */
+class DigitMask {
+
+    /** The scalar implementation, used on all runtimes. */
+    static final DigitMask SCALAR = new DigitMask();
+
+    DigitMask() {
+    }
+
+    static boolean isDigit(final char c) {
+        return (char) (c - '0') < 10;
+    }
+
+    /**
+     * Counts the digits in a buffer.
+     *
+     * @param chars  the buffer.
+     * @param length the number of characters to examine.
+     * @return the number of digits.
+     */
+    int count(final char[] chars, final int length) {
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            if (isDigit(chars[i])) digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Replaces the leftmost digits in a buffer with a masking character.
+     *
+     * @param chars   the buffer.
+     * @param length  the number of characters to examine.
+     * @param masking the masking character.
+     * @param count   the number of digits to replace.
+     */
+    void fill(final char[] chars, final int length, final char masking, final int count) {
+        fillFrom(chars, 0, length, masking, count);
+    }
+
+    static void fillFrom(final char[] chars, final int from, final int length, final char masking, int count) {
+        for (int i = from; i < length && count > 0; i++) {
+            if (isDigit(chars[i])) {
+                chars[i] = masking;
+                count--;
+            }
+        }
+    }
+
+    /**
+     * Masks all but the rightmost digits in a buffer.
+     *
+     * @param chars   the buffer.
+     * @param length  the number of characters to examine.
+     * @param masking the masking character.
+     * @param keep    the number of digits to leave unmasked.
+     * @return the number of digits masked.
+     */
+    final int mask(final char[] chars, final int length, final char masking, final int keep) {
+        final int masked = count(chars, length) - Math.max(0, keep);
+        if (masked <= 0) return 0;
+        fill(chars, length, masking, masked);
+        return masked;
+    }
+}
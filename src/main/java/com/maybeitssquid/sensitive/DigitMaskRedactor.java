@@ -0,0 +1,55 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * A redactor that replaces all but the rightmost <em>precision</em> ASCII digits with a masking character, leaving
+ * separators and other characters in place. Backs {@link Redactor#maskDigits(char)}. The input is copied into a
+ * buffer and masked in bulk by the {@link DigitMasks#BEST fastest available} {@link DigitMask}.
+ */
+final class DigitMaskRedactor extends AbstractRedactor<CharSequence> {
+
+    private final char masking;
+
+    private final DigitMask digits;
+
+    DigitMaskRedactor(final char masking, final DigitMask digits) {
+        this.masking = masking;
+        this.digits = digits;
+    }
+
+    DigitMaskRedactor(final char masking) {
+        this(masking, DigitMasks.BEST);
+    }
+
+    @Override
+    public CharSequence redact(final CharSequence t, final int precision) {
+        final int len = t.length();
+        if (precision >= len) return t;
+        final char[] chars = new char[len];
+        MaskRedactor.getChars(t, 0, len, chars, 0);
+        return this.digits.mask(chars, len, this.masking, precision) == 0 ? t : new String(chars);
+    }
+
+    /**
+     * Returns the length of the input, since masking replaces characters one for one.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return the length of the input.
+     */
+    @Override
+    public int redactedLength(final CharSequence t, final int precision) {
+        return t.length();
+    }
+
+    /**
+     * Returns whether the precision is positive, since no precision masks every digit.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return {@code true} if the precision is positive.
+     */
+    @Override
+    public boolean exposes(final CharSequence t, final int precision) {
+        return precision > 0;
+    }
+}
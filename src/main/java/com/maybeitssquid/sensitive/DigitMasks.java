@@ -0,0 +1,25 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * Chooses the fastest available {@link DigitMask}. The vectorized implementation is compiled for Java 21 and carried
+ * in the multi-release jar, so it is chosen only on Java 21 and later, and only if the {@code jdk.incubator.vector}
+ * module has been added with {@code --add-modules jdk.incubator.vector}. Otherwise the scalar implementation is used.
+ */
+final class DigitMasks {
+
+    /** The fastest available implementation. */
+    static final DigitMask BEST = best();
+
+    private DigitMasks() {
+    }
+
+    private static DigitMask best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return DigitMask.SCALAR;
+        try {
+            return (DigitMask) Class.forName(DigitMasks.class.getPackageName() + ".VectorDigitMask")
+                    .getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return DigitMask.SCALAR;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.maybeitssquid.sensitive;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many times values may be rendered with exposed characters in each window of time. A {@link Sensitive}
+ * value opts in by returning a budget from {@link Sensitive#budget()}. Each rendition whose redactor
+ * {@link Redactor#exposes(Object, int) may expose} characters {@link #tryExpose(Object) spends} from the budget, and
+ * once it is spent the value is rendered with a precision of 0, fully masked, until the next window starts. This
+ * includes renditions with no precision if the redactor exposes characters by default, such as
+ * {@code Redactor.limited(4, Redactor.mask())}.
+ * <p>
+ * Budgets are lock-free and safe to use from many threads at once. Windows are fixed intervals of the
+ * {@link System#nanoTime() monotonic clock}, so a burst at the end of one window and the start of the next can expose
+ * up to twice the limit.
+ * </p>
+ */
+public abstract class ExposureBudget {
+
+    private static final int COUNT_BITS = 40;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    /** Longs between stripes, so that each stripe has a cache line of its own. */
+    private static final int SPACING = 8;
+
+    /** Source of the current time in nanoseconds. */
+    private final LongSupplier clock;
+
+    private final long window;
+
+    /** The most exposures allowed in each window. */
+    final long limit;
+
+    ExposureBudget(final long limit, final Duration window, final LongSupplier clock) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative");
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("Window must be positive");
+        this.limit = limit;
+        this.window = window.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a budget that allows each value its own number of exposures per window. Values are counted in stripes
+     * selected by {@link Object#hashCode()}, so values whose hashes share a stripe share a budget.
+     *
+     * @param limit   the most exposures of each value in each window.
+     * @param window  the length of each window.
+     * @param stripes the minimum number of stripes, rounded up to a power of two.
+     * @return a budget for each value.
+     */
+    public static ExposureBudget perValue(final long limit, final Duration window, final int stripes) {
+        return new PerValue(limit, window, stripes, System::nanoTime);
+    }
+
+    /**
+     * Creates a budget that allows each value its own number of exposures per window, counted in 4096 stripes.
+     *
+     * @param limit  the most exposures of each value in each window.
+     * @param window the length of each window.
+     * @return a budget for each value.
+     * @see #perValue(long, Duration, int)
+     */
+    public static ExposureBudget perValue(final long limit, final Duration window) {
+        return perValue(limit, window, 4096);
+    }
+
+    /**
+     * Creates a single budget shared by every value that uses it. Returning the same shared budget from every
+     * instance of a class limits exposures of the class as a whole.
+     *
+     * @param limit  the most exposures in each window.
+     * @param window the length of each window.
+     * @return a shared budget.
+     */
+    public static ExposureBudget shared(final long limit, final Duration window) {
+        return new Shared(limit, window, System::nanoTime);
+    }
+
+    /**
+     * Gets the number of the current window.
+     *
+     * @return the current window.
+     */
+    final long epoch() {
+        return clock.getAsLong() / window;
+    }
+
+    /**
+     * Spends one exposure of a value, if any remain in the current window.
+     *
+     * @param value the value to expose.
+     * @return {@code true} if the value may be exposed, or {@code false} if it should be fully masked.
+     */
+    public abstract boolean tryExpose(Object value);
+
+    /**
+     * Spends one exposure from a stripe. Each stripe packs the low bits of its window number above its count, so that
+     * both are updated by one compare-and-set.
+     *
+     * @return {@code true} if the stripe had an exposure left in the current window.
+     */
+    static boolean spend(final AtomicLongArray stripes, final int index, final long epoch, final long limit) {
+        final long window = epoch & (-1L >>> COUNT_BITS);
+        while (true) {
+            final long current = stripes.get(index);
+            final long count = current >>> COUNT_BITS == window ? current & COUNT_MASK : 0;
+            if (count >= limit) return false;
+            if (stripes.compareAndSet(index, current, window << COUNT_BITS | count + 1)) return true;
+        }
+    }
+
+    /**
+     * Counts each value in an array of stripes. Stripes are spaced a cache line apart to avoid false sharing.
+     */
+    static final class PerValue extends ExposureBudget {
+        private final AtomicLongArray stripes;
+        private final int mask;
+
+        PerValue(final long limit, final Duration window, final int stripes, final LongSupplier clock) {
+            super(Math.min(limit, COUNT_MASK), window, clock);
+            if (stripes <= 0) throw new IllegalArgumentException("Stripes must be positive");
+            final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            this.stripes = new AtomicLongArray(size * SPACING);
+            this.mask = size - 1;
+        }
+
+        @Override
+        public boolean tryExpose(final Object value) {
+            final int h = value.hashCode();
+            return spend(stripes, ((h ^ h >>> 16) & mask) * SPACING, epoch(), limit);
+        }
+    }
+
+    /**
+     * Divides the limit between stripes, about two per processor, spaced a cache line apart. Each thread spends from
+     * the stripe selected by its id and moves on to the others once that is spent, so the limit is never exceeded and
+     * is only refused once every stripe is spent. Threads contend only when they share a stripe.
+     */
+    static final class Shared extends ExposureBudget {
+        private final AtomicLongArray stripes;
+        private final int size;
+
+        Shared(final long limit, final Duration window, final LongSupplier clock) {
+            super(Math.min(limit, COUNT_MASK), window, clock);
+            final int wanted = (int) Math.max(1, Math.min(this.limit, 2 * Runtime.getRuntime().availableProcessors()));
+            this.size = wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+            this.stripes = new AtomicLongArray(size * SPACING);
+        }
+
+        /** Gets the share of the limit held by a stripe. */
+        private long quota(final int stripe) {
+            return limit / size + (stripe < limit % size ? 1 : 0);
+        }
+
+        @Override
+        public boolean tryExpose(final Object value) {
+            final long epoch = epoch();
+            final int first = (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) & (size - 1);
+            for (int i = 0; i < size; i++) {
+                final int stripe = (first + i) & (size - 1);
+                if (spend(stripes, stripe * SPACING, epoch, quota(stripe))) return true;
+            }
+            return false;
+        }
+    }
+}
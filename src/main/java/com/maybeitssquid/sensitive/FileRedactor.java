@@ -0,0 +1,252 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Redacts large text files in parallel.
+ * <p>
+ * The input is split into chunks that end on line boundaries. Each chunk is read with a positional read, decoded,
+ * passed through a {@link TextScanner} and encoded on an {@link Executor}, such as a fork-join pool or, on Java 21, a
+ * virtual-thread executor. Each result is written with a positional write at the offset following the previous chunk's
+ * output, so the output keeps the order of the input even though chunks finish in any order. Only a bounded number of
+ * chunks are in memory at once. If any chunk fails, no more are started, and the method returns once those already
+ * started have finished.
+ * </p>
+ * <p>
+ * The character set must encode a line feed as the single byte {@code 0x0A} and never use that byte otherwise, as
+ * UTF-8 and the ISO-8859 character sets do. Malformed input is replaced. Since scanners only see one chunk at a time,
+ * sensitive data that spans lines is not detected.
+ * </p>
+ */
+public class FileRedactor {
+
+    /** Default target size of each chunk, in bytes. */
+    public static final int DEFAULT_CHUNK = 8 << 20;
+
+    private final TextScanner scanner;
+
+    private final Charset charset;
+
+    private final int chunk;
+
+    private final Executor executor;
+
+    private final int window;
+
+    /**
+     * Creates a file redactor.
+     *
+     * @param scanner  the scanner applied to each chunk.
+     * @param charset  the character set of input and output files.
+     * @param chunk    the target size of each chunk, in bytes. Chunks are extended to the end of a line.
+     * @param executor the executor that scans chunks.
+     * @param window   the most chunks held in memory at once.
+     */
+    public FileRedactor(final TextScanner scanner, final Charset charset, final int chunk,
+                        final Executor executor, final int window) {
+        if (chunk <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        if (window <= 0) throw new IllegalArgumentException("Window must be positive");
+        final ByteBuffer lineFeed = charset.encode("\n");
+        if (lineFeed.remaining() != 1 || lineFeed.get(0) != '\n') {
+            throw new IllegalArgumentException(charset + " does not encode line feed as a single byte");
+        }
+        this.scanner = scanner;
+        this.charset = charset;
+        this.chunk = chunk;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    /**
+     * Creates a file redactor for UTF-8 files that scans {@link #DEFAULT_CHUNK default-sized} chunks on the common
+     * fork-join pool.
+     *
+     * @param scanner the scanner applied to each chunk.
+     */
+    public FileRedactor(final TextScanner scanner) {
+        this(scanner, StandardCharsets.UTF_8, DEFAULT_CHUNK, ForkJoinPool.commonPool(),
+                2 * ForkJoinPool.getCommonPoolParallelism() + 1);
+    }
+
+    /**
+     * Redacts a file. The output file is created or replaced.
+     *
+     * @param in  the file to read.
+     * @param out the file to write.
+     * @return the amount of data processed and the time taken.
+     * @throws IOException if either file cannot be accessed.
+     */
+    public Result redact(final Path in, final Path out) throws IOException {
+        final long started = System.nanoTime();
+        try (FileChannel source = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = source.size();
+            final Semaphore permits = new Semaphore(window);
+            final List<CompletableFuture<Void>> writes = new ArrayList<>();
+            final List<CompletableFuture<?>> tasks = new ArrayList<>();
+            CompletableFuture<Long> offset = CompletableFuture.completedFuture(0L);
+            long start = 0;
+            try {
+                while (start < size && !offset.isCompletedExceptionally()) {
+                    final long end = lineEnd(source, Math.min(start + chunk, size), size);
+                    if (end - start > Integer.MAX_VALUE) throw new IOException("Line too long at " + start);
+                    permits.acquire();
+                    final long from = start;
+                    final CompletableFuture<ByteBuffer> redacted =
+                            CompletableFuture.supplyAsync(() -> redact(source, from, end), executor);
+                    final CompletableFuture<Long> at = offset;
+                    final CompletableFuture<Void> written = redacted.thenAcceptBothAsync(at,
+                            (bytes, position) -> write(target, bytes, position), executor);
+                    writes.add(written.whenComplete((v, e) -> permits.release()));
+                    tasks.add(redacted);
+                    tasks.add(written);
+                    offset = redacted.thenCombine(at, (bytes, position) -> position + bytes.limit());
+                    start = end;
+                }
+                final long written = offset.join();
+                CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+                return new Result(size, written, writes.size(), System.nanoTime() - started);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+                throw e;
+            } finally {
+                // A write fails as soon as an earlier chunk does, while its own chunk may still be read, so wait for
+                // every task to finish before the channels are closed
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).handle((v, e) -> null).join();
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the line containing a position.
+     *
+     * @return the position after the next line feed at or after {@code from}, or the end of the file.
+     */
+    private static long lineEnd(final FileChannel source, long from, final long size) throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(8192);
+        if (from == size) return size;
+        // Start at the last byte of the chunk, in case it is the line feed
+        from--;
+        while (from < size) {
+            block.clear();
+            final int read = source.read(block, from);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') return from + i + 1;
+            }
+            from += read;
+        }
+        return size;
+    }
+
+    private ByteBuffer redact(final FileChannel source, final long from, final long to) {
+        try {
+            // Decoding to a String is much faster to scan and copy than a CharBuffer view, so the chunk is read into
+            // an array rather than mapped
+            final byte[] bytes = new byte[(int) (to - from)];
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (source.read(buffer, from + buffer.position()) < 0) throw new IOException("File truncated at " + from);
+            }
+            final String text = new String(bytes, charset);
+            final StringBuilder redacted = new StringBuilder(text.length());
+            scanner.scan(text, redacted);
+            return ByteBuffer.wrap(redacted.toString().getBytes(charset));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(final FileChannel target, final ByteBuffer bytes, long position) {
+        try {
+            while (bytes.hasRemaining()) position += target.write(bytes, position);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Summary of one redacted file.
+     */
+    public static final class Result {
+        private final long read;
+        private final long written;
+        private final int chunks;
+        private final long nanos;
+
+        Result(final long read, final long written, final int chunks, final long nanos) {
+            this.read = read;
+            this.written = written;
+            this.chunks = chunks;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Gets the size of the input.
+         *
+         * @return the number of bytes read.
+         */
+        public long bytesRead() {
+            return read;
+        }
+
+        /**
+         * Gets the size of the output.
+         *
+         * @return the number of bytes written.
+         */
+        public long bytesWritten() {
+            return written;
+        }
+
+        /**
+         * Gets the number of chunks the input was split into.
+         *
+         * @return the number of chunks.
+         */
+        public int chunks() {
+            return chunks;
+        }
+
+        /**
+         * Gets the elapsed time.
+         *
+         * @return the elapsed time in nanoseconds.
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * Gets the throughput.
+         *
+         * @return input bytes processed per second.
+         */
+        public double bytesPerSecond() {
+            return nanos == 0 ? 0 : read * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bytes in %d chunks, %.1f MB/s", read, chunks, bytesPerSecond() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.maybeitssquid.sensitive;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RenderMetrics} that keeps counts in memory with {@link LongAdder}s, so that recording scales across threads.
+ * <p>
+ * Renditions are counted by class, by {@link RenderMetrics.Path path}, by redactor and by {@link #bucket(int) precision
+ * bucket}. A random sample of renditions is timed into a histogram with power-of-two buckets.
+ * </p>
+ */
+public class InMemoryRenderMetrics implements RenderMetrics {
+
+    /** Upper bounds of the precision buckets after "none" and 0. */
+    private static final int[] BUCKETS = {4, 8, 16};
+
+    private final int sampling;
+
+    private final Map<Class<?>, LongAdder> types = new ConcurrentHashMap<>();
+
+    private final LongAdder[] paths = adders(RenderMetrics.Path.values().length);
+
+    private final LongAdder[] redactors = adders(2);
+
+    private final LongAdder[] precisions = adders(BUCKETS.length + 3);
+
+    private final LongAdder[] latencies = adders(Long.SIZE);
+
+    /**
+     * Creates metrics that time a random sample of renditions.
+     *
+     * @param sampling the average number of renditions per timed rendition, or 0 to time none.
+     */
+    public InMemoryRenderMetrics(final int sampling) {
+        if (sampling < 0) throw new IllegalArgumentException("Sampling must not be negative");
+        this.sampling = sampling;
+    }
+
+    /**
+     * Creates metrics that time one rendition in 64 on average.
+     */
+    public InMemoryRenderMetrics() {
+        this(64);
+    }
+
+    private static LongAdder[] adders(final int count) {
+        final LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    /**
+     * Gets the precision bucket for a precision. Bucket 0 is no precision, bucket 1 is a precision of 0, and the
+     * remaining buckets hold precisions up to 4, up to 8, up to 16, and above 16.
+     *
+     * @param precision the precision, or {@code -1} for none.
+     * @return the bucket.
+     */
+    public static int bucket(final int precision) {
+        if (precision < 0) return 0;
+        if (precision == 0) return 1;
+        int bucket = 2;
+        while (bucket - 2 < BUCKETS.length && precision > BUCKETS[bucket - 2]) bucket++;
+        return bucket;
+    }
+
+    @Override
+    public boolean sample() {
+        return sampling == 1 || sampling > 1 && ThreadLocalRandom.current().nextInt(sampling) == 0;
+    }
+
+    @Override
+    public void rendered(final Class<?> type, final RenderMetrics.Path path, final boolean alternate,
+                         final int precision, final long nanos) {
+        LongAdder count = types.get(type);
+        if (count == null) count = types.computeIfAbsent(type, t -> new LongAdder());
+        count.increment();
+        paths[path.ordinal()].increment();
+        redactors[alternate ? 1 : 0].increment();
+        precisions[bucket(precision)].increment();
+        if (nanos >= 0) latencies[Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(1, nanos))].increment();
+    }
+
+    /**
+     * Gets the number of renditions of a class.
+     *
+     * @param type the class.
+     * @return the number of renditions.
+     */
+    public long count(final Class<?> type) {
+        final LongAdder count = types.get(type);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Gets the number of renditions by a path.
+     *
+     * @param path the path.
+     * @return the number of renditions.
+     */
+    public long count(final RenderMetrics.Path path) {
+        return paths[path.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of renditions by the default or alternate redactor.
+     *
+     * @param alternate whether to count the alternate redactor.
+     * @return the number of renditions.
+     */
+    public long count(final boolean alternate) {
+        return redactors[alternate ? 1 : 0].sum();
+    }
+
+    /**
+     * Gets the number of renditions in a {@link #bucket(int) precision bucket}.
+     *
+     * @param bucket the bucket.
+     * @return the number of renditions.
+     */
+    public long countBucket(final int bucket) {
+        return precisions[bucket].sum();
+    }
+
+    /**
+     * Gets the latency histogram. Element {@code i} counts timed renditions that took at least {@code 2^i} and less
+     * than {@code 2^(i+1)} nanoseconds.
+     *
+     * @return the number of timed renditions in each bucket.
+     */
+    public long[] latencies() {
+        final long[] histogram = new long[latencies.length];
+        for (int i = 0; i < histogram.length; i++) histogram[i] = latencies[i].sum();
+        return histogram;
+    }
+
+    /**
+     * Resets all counts to zero.
+     */
+    public void reset() {
+        types.clear();
+        for (final LongAdder adder : paths) adder.reset();
+        for (final LongAdder adder : redactors) adder.reset();
+        for (final LongAdder adder : precisions) adder.reset();
+        for (final LongAdder adder : latencies) adder.reset();
+    }
+}
@@ -0,0 +1,55 @@
+package com.maybeitssquid.sensitive;
+
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A redaction function that takes its precision as a primitive {@code int}, so that rendering does not box the
+ * precision. Every {@link Redactor} is also an {@code IntRedactor}; the predefined redactors implement this method
+ * directly, and {@link Redactor#from(IntRedactor)} bridges an {@code IntRedactor} to the {@code BiFunction} type
+ * expected by {@link Sensitive#redactor()}.
+ *
+ * @param <T> the type of data to protect.
+ */
+@FunctionalInterface
+public interface IntRedactor<T> {
+
+    /**
+     * Renders the sensitive data, exposing no more than the requested precision.
+     *
+     * @param value     the sensitive data.
+     * @param precision the requested precision, or {@code -1} if none was specified.
+     * @return the redacted rendition.
+     */
+    CharSequence redact(T value, int precision);
+
+    /**
+     * Wraps a redaction with a precision limit of half the non-redacted length, computed without boxing.
+     *
+     * @param length a function that computes the non-redacted length
+     * @param after  the redaction to wrap.
+     * @param <T>    The type of sensitive data to be protected.
+     * @return function to apply a maximum precision based on the input length.
+     * @see Redactor#limited(java.util.function.Function, BiFunction)
+     */
+    static <T> Redactor<T> limited(final ToIntFunction<T> length, final BiFunction<T, Integer, CharSequence> after) {
+        return new PrecisionRedactor<>((t, p) -> {
+            final int max = length.applyAsInt(t) / 2;
+            return p == -1 ? max : Math.min(p, max);
+        }, after);
+    }
+
+    /**
+     * Wraps a redaction with a default precision of half the non-redacted length, computed without boxing. If the
+     * precision is specified, it is allowed without a limit.
+     *
+     * @param length a function that computes the non-redacted length
+     * @param after  the redaction to wrap.
+     * @param <T>    The type of sensitive data to be protected.
+     * @return function to apply a default number of characters redacted.
+     * @see Redactor#defaulted(java.util.function.Function, BiFunction)
+     */
+    static <T> Redactor<T> defaulted(final ToIntFunction<T> length, final BiFunction<T, Integer, CharSequence> after) {
+        return new PrecisionRedactor<>((t, p) -> p == -1 ? length.applyAsInt(t) / 2 : p, after);
+    }
+}
@@ -0,0 +1,194 @@
+package com.maybeitssquid.sensitive;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+
+/**
+ * SipHash-1-3 keyed with a random key chosen once per JVM, and constant-time equality, for {@link Sensitive#keyed()
+ * keyed} values. Since the key is secret, an attacker cannot choose values whose hashes collide. Hashes differ
+ * between JVMs, so they must not be persisted.
+ * <p>
+ * Character sequences and {@code char[]} and {@code byte[]} arrays are hashed and compared by content. Arrays of
+ * objects are hashed and compared element by element. Other values fall back to their own {@link Object#hashCode()}
+ * and {@link Object#equals(Object)}, and so keep any weaknesses of those methods.
+ * </p>
+ */
+final class KeyedHash {
+
+    private static final long K0;
+    private static final long K1;
+
+    static {
+        final SecureRandom random = new SecureRandom();
+        K0 = random.nextLong();
+        K1 = random.nextLong();
+    }
+
+    private long v0;
+    private long v1;
+    private long v2;
+    private long v3;
+
+    /** Number of bytes compressed so far. */
+    private int count;
+
+    KeyedHash(final long k0, final long k1) {
+        this.v0 = k0 ^ 0x736f6d6570736575L;
+        this.v1 = k1 ^ 0x646f72616e646f6dL;
+        this.v2 = k0 ^ 0x6c7967656e657261L;
+        this.v3 = k1 ^ 0x7465646279746573L;
+    }
+
+    private KeyedHash() {
+        this(K0, K1);
+    }
+
+    private void round() {
+        v0 += v1;
+        v1 = Long.rotateLeft(v1, 13);
+        v1 ^= v0;
+        v0 = Long.rotateLeft(v0, 32);
+        v2 += v3;
+        v3 = Long.rotateLeft(v3, 16);
+        v3 ^= v2;
+        v0 += v3;
+        v3 = Long.rotateLeft(v3, 21);
+        v3 ^= v0;
+        v2 += v1;
+        v1 = Long.rotateLeft(v1, 17);
+        v1 ^= v2;
+        v2 = Long.rotateLeft(v2, 32);
+    }
+
+    /** Compresses eight bytes. */
+    void word(final long m) {
+        v3 ^= m;
+        round();
+        v0 ^= m;
+        count += 8;
+    }
+
+    /**
+     * Compresses the final one to seven bytes, if any, and finalizes.
+     *
+     * @param tail  the remaining bytes, little-endian.
+     * @param bytes the number of remaining bytes.
+     * @return the 64-bit hash.
+     */
+    long finish(final long tail, final int bytes) {
+        final long m = tail | (long) ((count + bytes) & 0xff) << 56;
+        v3 ^= m;
+        round();
+        v0 ^= m;
+        v2 ^= 0xff;
+        round();
+        round();
+        round();
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    long hash(final CharSequence value) {
+        final int length = value.length();
+        final int words = length & ~3;
+        int i = 0;
+        for (; i < words; i += 4) {
+            word(value.charAt(i) | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32 | (long) value.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) tail |= (long) value.charAt(i) << shift;
+        return finish(tail, (length - words) * 2);
+    }
+
+    long hash(final char[] value) {
+        final int words = value.length & ~3;
+        int i = 0;
+        for (; i < words; i += 4) {
+            word(value[i] | (long) value[i + 1] << 16 | (long) value[i + 2] << 32 | (long) value[i + 3] << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < value.length; i++, shift += 16) tail |= (long) value[i] << shift;
+        return finish(tail, (value.length - words) * 2);
+    }
+
+    long hash(final byte[] value) {
+        final int words = value.length & ~7;
+        int i = 0;
+        for (; i < words; i += 8) {
+            long m = 0;
+            for (int b = 7; b >= 0; b--) m = m << 8 | (value[i + b] & 0xffL);
+            word(m);
+        }
+        long tail = 0;
+        for (int shift = 0; i < value.length; i++, shift += 8) tail |= (value[i] & 0xffL) << shift;
+        return finish(tail, value.length - words);
+    }
+
+    /**
+     * Computes the keyed hash of a value.
+     *
+     * @param value the value to hash.
+     * @return the hash.
+     */
+    static int hashCode(final Object value) {
+        final long hash = hash64(value);
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    private static long hash64(final Object value) {
+        if (value instanceof CharSequence) return new KeyedHash().hash((CharSequence) value);
+        if (value instanceof char[]) return new KeyedHash().hash((char[]) value);
+        if (value instanceof byte[]) return new KeyedHash().hash((byte[]) value);
+        if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            final KeyedHash hash = new KeyedHash();
+            for (final Object element : array) hash.word(element == null ? 0 : hash64(element));
+            return hash.finish(0, 0);
+        }
+        final KeyedHash hash = new KeyedHash();
+        return hash.finish(Objects.hashCode(value) & 0xffffffffL, 4);
+    }
+
+    /**
+     * Compares two values in time that depends only on their lengths, not on where they differ.
+     *
+     * @param a a value.
+     * @param b another value.
+     * @return whether the values have equal content.
+     */
+    static boolean equals(final Object a, final Object b) {
+        if (a instanceof CharSequence && b instanceof CharSequence) {
+            final CharSequence x = (CharSequence) a;
+            final CharSequence y = (CharSequence) b;
+            if (x.length() != y.length()) return false;
+            int diff = 0;
+            for (int i = 0; i < x.length(); i++) diff |= x.charAt(i) ^ y.charAt(i);
+            return diff == 0;
+        }
+        if (a instanceof char[] && b instanceof char[]) {
+            final char[] x = (char[]) a;
+            final char[] y = (char[]) b;
+            if (x.length != y.length) return false;
+            int diff = 0;
+            for (int i = 0; i < x.length; i++) diff |= x[i] ^ y[i];
+            return diff == 0;
+        }
+        if (a instanceof byte[] && b instanceof byte[]) {
+            final byte[] x = (byte[]) a;
+            final byte[] y = (byte[]) b;
+            if (x.length != y.length) return false;
+            int diff = 0;
+            for (int i = 0; i < x.length; i++) diff |= x[i] ^ y[i];
+            return diff == 0;
+        }
+        if (a instanceof Object[] && b instanceof Object[]) {
+            final Object[] x = (Object[]) a;
+            final Object[] y = (Object[]) b;
+            if (x.length != y.length) return false;
+            boolean same = true;
+            for (int i = 0; i < x.length; i++) same &= equals(x[i], y[i]);
+            return same;
+        }
+        return Objects.equals(a, b);
+    }
+}
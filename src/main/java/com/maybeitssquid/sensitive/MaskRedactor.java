@@ -0,0 +1,110 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A redactor that replaces all but the rightmost <em>precision</em> characters with a masking character. Backs
+ * {@link Redactor#mask(char)} and, when rendering lazy views, {@link Redactor#maskView(char)}.
+ */
+final class MaskRedactor extends AbstractRedactor<CharSequence> {
+
+    /** Shared instances for ASCII masking characters. */
+    private static final MaskRedactor[] SHARED = new MaskRedactor[128];
+
+    static {
+        for (char c = 0; c < SHARED.length; c++) SHARED[c] = new MaskRedactor(c, false);
+    }
+
+    private final char masking;
+
+    private final boolean view;
+
+    MaskRedactor(final char masking, final boolean view) {
+        this.masking = masking;
+        this.view = view;
+    }
+
+    /**
+     * Gets a masking redactor, shared with all other users of the same masking character if it is ASCII.
+     *
+     * @param masking the masking character.
+     * @return a redactor that masks with the character.
+     */
+    static MaskRedactor of(final char masking) {
+        return masking < SHARED.length ? SHARED[masking] : new MaskRedactor(masking, false);
+    }
+
+    @Override
+    public CharSequence redact(final CharSequence t, final int p) {
+        final int len = t.length();
+        if (p >= len) {
+            return t;
+        } else if (view) {
+            return new MaskedSequence(t, 0, len, len - Math.max(0, p), masking);
+        } else if (p <= 0) {
+            return MaskRuns.run(masking, len);
+        } else if (len > MaskRuns.CACHED_LENGTH) {
+            final char[] chars = new char[len];
+            Arrays.fill(chars, 0, len - p, masking);
+            getChars(t, len - p, len, chars, len - p);
+            return new String(chars);
+        } else {
+            return MaskRuns.append(new StringBuilder(len), masking, len - p)
+                    .append(t, len - p, len)
+                    .toString();
+        }
+    }
+
+    /**
+     * Copies characters from a sequence into an array, in bulk if the sequence is a {@code String} or
+     * {@code StringBuilder}.
+     *
+     * @param src      the source.
+     * @param begin    the index of the first character to copy.
+     * @param end      the index after the last character to copy.
+     * @param dst      the destination.
+     * @param dstBegin the index in the destination of the first character.
+     */
+    static void getChars(final CharSequence src, final int begin, final int end, final char[] dst, final int dstBegin) {
+        if (src instanceof String) {
+            ((String) src).getChars(begin, end, dst, dstBegin);
+        } else if (src instanceof StringBuilder) {
+            ((StringBuilder) src).getChars(begin, end, dst, dstBegin);
+        } else {
+            for (int i = begin; i < end; i++) dst[dstBegin + i - begin] = src.charAt(i);
+        }
+    }
+
+    /**
+     * Returns the length of the input, since masking replaces characters one for one.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return the length of the input.
+     */
+    @Override
+    public int redactedLength(final CharSequence t, final int precision) {
+        return t.length();
+    }
+
+    /**
+     * Returns whether the precision is positive, since no precision masks every character.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return {@code true} if the precision is positive.
+     */
+    @Override
+    public boolean exposes(final CharSequence t, final int precision) {
+        return precision > 0;
+    }
+
+    @Override
+    public void redactTo(final Appendable out, final CharSequence t, final int precision) throws IOException {
+        final int len = t.length();
+        final int exposed = Math.max(0, Math.min(precision, len));
+        MaskRuns.append(out, masking, len - exposed);
+        out.append(t, len - exposed, len);
+    }
+}
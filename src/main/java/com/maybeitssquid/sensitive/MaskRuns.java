@@ -0,0 +1,88 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared cache of prebuilt runs of masking characters. For each ASCII masking character, the runs of every length up
+ * to {@link #CACHED_LENGTH} are built once on first use and shared by all redactors; the common masks
+ * {@link Redactor#DEFAULT_MASK} and {@code '*'} are built eagerly. Other characters and longer runs fall back to
+ * building a new run on each request.
+ */
+final class MaskRuns {
+
+    /**
+     * Longest run kept in the cache, chosen to cover common identifiers such as card and account numbers.
+     */
+    static final int CACHED_LENGTH = 64;
+
+    private static final AtomicReferenceArray<String[]> RUNS = new AtomicReferenceArray<>(128);
+
+    static {
+        runs(Redactor.DEFAULT_MASK);
+        runs('*');
+    }
+
+    private MaskRuns() {
+    }
+
+    private static String[] runs(final char masking) {
+        String[] runs = RUNS.get(masking);
+        if (runs == null) {
+            final String longest = Character.toString(masking).repeat(CACHED_LENGTH);
+            runs = new String[CACHED_LENGTH + 1];
+            for (int i = 0; i <= CACHED_LENGTH; i++) runs[i] = longest.substring(0, i);
+            if (!RUNS.compareAndSet(masking, null, runs)) runs = RUNS.get(masking);
+        }
+        return runs;
+    }
+
+    /**
+     * Returns a run of masking characters.
+     *
+     * @param masking the masking character.
+     * @param length  the number of characters in the run.
+     * @return a string of {@code length} masking characters, shared if cached.
+     */
+    static String run(final char masking, final int length) {
+        if (masking < 128 && length <= CACHED_LENGTH) return runs(masking)[length];
+        return Character.toString(masking).repeat(length);
+    }
+
+    /**
+     * Appends a run of masking characters, in chunks of cached runs when the masking character is cacheable.
+     *
+     * @param out     the destination.
+     * @param masking the masking character.
+     * @param length  the number of characters to append.
+     * @throws IOException if the destination throws.
+     */
+    static void append(final Appendable out, final char masking, final int length) throws IOException {
+        if (masking < 128) {
+            final String longest = runs(masking)[CACHED_LENGTH];
+            int remaining = length;
+            for (; remaining > CACHED_LENGTH; remaining -= CACHED_LENGTH) out.append(longest);
+            out.append(longest, 0, remaining);
+        } else {
+            for (int i = 0; i < length; i++) out.append(masking);
+        }
+    }
+
+    /**
+     * Appends a run of masking characters to a buffer. Equivalent to {@link #append(Appendable, char, int)} for a
+     * destination that cannot throw.
+     *
+     * @param buffer  the destination.
+     * @param masking the masking character.
+     * @param length  the number of characters to append.
+     * @return the buffer.
+     */
+    static StringBuilder append(final StringBuilder buffer, final char masking, final int length) {
+        try {
+            append((Appendable) buffer, masking, length);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,33 @@
+package com.maybeitssquid.sensitive;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field to be masked by the renderer that {@link RedactionProcessor} generates for its class. The field is
+ * rendered as its text with all but the last {@link #expose()} characters replaced by {@link #mask()}, as
+ * {@link Redactor#mask(char)} does. Values that are not character sequences are converted with
+ * {@link String#valueOf(Object)} first.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Masked {
+
+    /**
+     * The number of trailing characters to leave unmasked.
+     *
+     * @return the number of characters exposed.
+     */
+    int expose() default 0;
+
+    /**
+     * The masking character.
+     *
+     * @return the character that replaces masked characters.
+     */
+    char mask() default Redactor.DEFAULT_MASK;
+}
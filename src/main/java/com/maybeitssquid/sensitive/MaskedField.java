@@ -10,15 +10,47 @@ public class MaskedField extends Sensitive<CharSequence> {
 
     private final BiFunction<CharSequence, Integer, CharSequence> masking;
 
+    private final boolean memoize;
+
+    private final boolean keyed;
+
     /**
      * Creates a wrapper for a sensitive text field.
      *
      * @param sensitive the sensitive text.
      * @param mask      the masking character used to replace redacted characters.
+     * @param memoize   whether to {@link #memoize() memoize} renditions. The sensitive text must not be modified if
+     *                  this is {@code true}.
+     * @param keyed     whether to use {@link #keyed() keyed} hashing and constant-time comparison. The sensitive text
+     *                  must not be modified if this is {@code true}.
      */
-    public MaskedField(final CharSequence sensitive, final char mask) {
+    public MaskedField(final CharSequence sensitive, final char mask, final boolean memoize, final boolean keyed) {
         super(sensitive);
         this.masking = Redactor.mask(mask);
+        this.memoize = memoize;
+        this.keyed = keyed;
+    }
+
+    /**
+     * Creates a wrapper for a sensitive text field.
+     *
+     * @param sensitive the sensitive text.
+     * @param mask      the masking character used to replace redacted characters.
+     * @param memoize   whether to {@link #memoize() memoize} renditions. The sensitive text must not be modified if
+     *                  this is {@code true}.
+     */
+    public MaskedField(final CharSequence sensitive, final char mask, final boolean memoize) {
+        this(sensitive, mask, memoize, false);
+    }
+
+    /**
+     * Creates a wrapper for a sensitive text field.
+     *
+     * @param sensitive the sensitive text.
+     * @param mask      the masking character used to replace redacted characters.
+     */
+    public MaskedField(final CharSequence sensitive, final char mask) {
+        this(sensitive, mask, false);
     }
 
     /**
@@ -34,4 +66,14 @@ public class MaskedField extends Sensitive<CharSequence> {
     protected BiFunction<CharSequence, Integer, CharSequence> redactor() {
         return this.masking;
     }
+
+    @Override
+    protected boolean memoize() {
+        return this.memoize;
+    }
+
+    @Override
+    protected boolean keyed() {
+        return this.keyed;
+    }
 }
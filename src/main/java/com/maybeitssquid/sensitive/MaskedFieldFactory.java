@@ -0,0 +1,124 @@
+package com.maybeitssquid.sensitive;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Creates {@link MaskedField} instances that share their masking character and, optionally, deduplicate equal values.
+ * <p>
+ * Every field created by a factory shares a single redactor. A factory can also intern fields, so that creating a
+ * field for text equal to that of a field created earlier returns the earlier field. Interned fields hold an immutable
+ * {@code String} copy of the text and use {@link Sensitive#keyed() keyed} hashing, since they are typically used as
+ * keys. Two interning tables are available:
+ * </p>
+ * <ul>
+ *     <li>a weak table, which returns the earlier field for as long as it is reachable elsewhere; and</li>
+ *     <li>a bounded table, a fixed number of lock-free slots indexed by hash, where a new value replaces whatever
+ *     occupied its slot. It never grows, and deduplicates values that are created again while still in their slot.
+ *     </li>
+ * </ul>
+ * Factories are safe to use from several threads at once.
+ */
+public class MaskedFieldFactory {
+
+    private final char mask;
+
+    private final Map<MaskedField, WeakReference<MaskedField>> weak;
+
+    private final AtomicReferenceArray<MaskedField> bounded;
+
+    private MaskedFieldFactory(final char mask, final boolean weak, final int capacity) {
+        this.mask = mask;
+        this.weak = weak ? new WeakHashMap<>() : null;
+        this.bounded = capacity > 0
+                ? new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, capacity - 1)) << 1)
+                : null;
+    }
+
+    /**
+     * Creates a factory that does not intern fields.
+     *
+     * @param mask the masking character used to replace redacted characters.
+     */
+    public MaskedFieldFactory(final char mask) {
+        this(mask, false, 0);
+    }
+
+    /**
+     * Creates a factory that does not intern fields. Uses {@link Redactor#DEFAULT_MASK} to replace redacted
+     * characters.
+     */
+    public MaskedFieldFactory() {
+        this(Redactor.DEFAULT_MASK);
+    }
+
+    /**
+     * Creates a factory, optionally with a weak interning table.
+     *
+     * @param mask the masking character used to replace redacted characters.
+     * @param weak whether to intern fields in a weak table.
+     */
+    public MaskedFieldFactory(final char mask, final boolean weak) {
+        this(mask, weak, 0);
+    }
+
+    /**
+     * Creates a factory with a bounded interning table.
+     *
+     * @param mask     the masking character used to replace redacted characters.
+     * @param capacity the minimum number of slots in the table, rounded up to a power of two.
+     */
+    public MaskedFieldFactory(final char mask, final int capacity) {
+        this(mask, false, requirePositive(capacity));
+    }
+
+    private static int requirePositive(final int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        return capacity;
+    }
+
+    /**
+     * Creates a field, or returns an equal interned field.
+     *
+     * @param sensitive the sensitive text.
+     * @return a field protecting the text.
+     */
+    public MaskedField field(final CharSequence sensitive) {
+        if (bounded != null) return bounded(sensitive);
+        if (weak != null) return weak(sensitive.toString());
+        return new MaskedField(sensitive, mask);
+    }
+
+    private MaskedField create(final String sensitive) {
+        return new MaskedField(sensitive, mask, false, true);
+    }
+
+    private MaskedField weak(final String sensitive) {
+        final MaskedField created = create(sensitive);
+        synchronized (weak) {
+            final WeakReference<MaskedField> existing = weak.get(created);
+            final MaskedField field = existing == null ? null : existing.get();
+            if (field != null) return field;
+            weak.put(created, new WeakReference<>(created));
+        }
+        return created;
+    }
+
+    private MaskedField bounded(final CharSequence sensitive) {
+        final int slot = slot(sensitive);
+        final MaskedField existing = bounded.get(slot);
+        // Compared in constant time, like the keyed fields themselves, so lookups do not reveal where values differ
+        if (existing != null && KeyedHash.equals(existing.sensitive, sensitive)) return existing;
+        final MaskedField created = create(sensitive.toString());
+        bounded.set(slot, created);
+        return created;
+    }
+
+    private int slot(final CharSequence sensitive) {
+        // Slots are chosen by keyed hash, so that colliding values cannot be used to evict chosen entries
+        final int h = KeyedHash.hashCode(sensitive);
+        return (h ^ h >>> 16) & (bounded.length() - 1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.maybeitssquid.sensitive;
+
+import java.util.stream.IntStream;
+
+/**
+ * A read-only view of a character sequence in which the leading characters are replaced by a masking character.
+ * Nothing is copied: masked positions return the masking character and exposed positions delegate to the underlying
+ * sequence, so a view costs constant memory regardless of the length of the data it covers. Changes to a mutable
+ * underlying sequence are visible through the view.
+ */
+final class MaskedSequence implements CharSequence {
+
+    private final CharSequence source;
+
+    private final int offset;
+
+    private final int length;
+
+    private final int masked;
+
+    private final char masking;
+
+    /**
+     * Creates a view over a range of the source.
+     *
+     * @param source  the underlying sequence.
+     * @param offset  the index in the source of the first character of the view.
+     * @param length  the number of characters in the view.
+     * @param masked  the number of leading characters in the view to replace.
+     * @param masking the masking character.
+     */
+    MaskedSequence(final CharSequence source, final int offset, final int length, final int masked, final char masking) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.masked = masked;
+        this.masking = masking;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        return index < masked ? masking : source.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new MaskedSequence(source, offset + start, end - start, Math.max(0, Math.min(masked, end) - start), masking);
+    }
+
+    @Override
+    public IntStream chars() {
+        return IntStream.range(0, length).map(i -> i < masked ? masking : source.charAt(offset + i));
+    }
+
+    /**
+     * Materializes the view as a {@code String}.
+     *
+     * @return the masked characters followed by the exposed characters.
+     */
+    @Override
+    public String toString() {
+        return MaskRuns.append(new StringBuilder(length), masking, masked)
+                .append(source, offset + masked, offset + length)
+                .toString();
+    }
+}
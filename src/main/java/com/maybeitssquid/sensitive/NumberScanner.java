@@ -0,0 +1,349 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiFunction;
+
+/**
+ * Scans free text for payment card numbers and US Social Security numbers that were never wrapped in a
+ * {@link Sensitive} value, and masks them as the text is copied to a destination.
+ * <p>
+ * Candidates are runs of digits, optionally grouped by single spaces or hyphens, that are not adjacent to other
+ * letters or digits. Within a run, any consecutive groups can form a match, so adjacent numbers such as a quantity
+ * or amount do not hide a card number next to them; the longest match starting at each group wins. Groups of 13 to
+ * 19 digits in all, each of at least 4 digits, that pass the Luhn check are treated as a card number. Groups of 9
+ * digits, either contiguous or grouped 3-2-4, whose area, group and serial numbers are valid are treated as a Social
+ * Security number. Each match, including its inner separators, is replaced by applying the redactor at the
+ * configured precision; all other text is copied unchanged.
+ * </p>
+ * <p>
+ * The scanner is a single-pass state machine that holds at most one candidate in memory, so input of any size is
+ * processed in bounded memory. Input can be supplied whole, through a {@link Reader}, or from a memory-mapped file.
+ * A scanner is immutable and can be shared between threads.
+ * </p>
+ */
+public class NumberScanner implements TextScanner {
+
+    /** Most digits in a card number. */
+    private static final int MAX_DIGITS = 19;
+
+    /** Fewest digits in a card number. */
+    private static final int MIN_CARD_DIGITS = 13;
+
+    /** Fewest digits in each group of a grouped card number, as in 4-4-4-4 and 4-6-5. */
+    private static final int MIN_CARD_GROUP = 4;
+
+    /** Longest candidate held: every digit separated from the next, plus the digit that overflows it. */
+    private static final int MAX_CANDIDATE = 2 * MAX_DIGITS + 1;
+
+    /** Number of characters read or decoded at a time. */
+    private static final int BLOCK = 8192;
+
+    /** Number of bytes mapped at a time. */
+    private static final long REGION = 64L << 20;
+
+    private final Redactor<CharSequence> redactor;
+
+    private final int precision;
+
+    /**
+     * Creates a scanner.
+     *
+     * @param redactor  the redactor applied to each match.
+     * @param precision the precision passed to the redactor.
+     */
+    public NumberScanner(final BiFunction<CharSequence, Integer, CharSequence> redactor, final int precision) {
+        this.redactor = Redactor.of(redactor);
+        this.precision = precision;
+    }
+
+    /**
+     * Creates a scanner that masks matches with {@link Redactor#mask()}, exposing the last four characters.
+     */
+    public NumberScanner() {
+        this(Redactor.mask(), 4);
+    }
+
+    /**
+     * Copies text to a destination, masking card and Social Security numbers.
+     *
+     * @param in  the text to scan.
+     * @param out the destination.
+     * @throws IOException if the destination throws.
+     */
+    @Override
+    public void scan(final CharSequence in, final Appendable out) throws IOException {
+        final Session session = new Session(out);
+        session.scan(in, 0, in.length());
+        session.finish();
+    }
+
+    /**
+     * Copies text from a reader to a destination, masking card and Social Security numbers.
+     *
+     * @param in  the text to scan.
+     * @param out the destination.
+     * @throws IOException if the reader or destination throws.
+     */
+    public void scan(final Reader in, final Appendable out) throws IOException {
+        final Session session = new Session(out);
+        final CharBuffer block = CharBuffer.allocate(BLOCK);
+        while (in.read(block.clear()) >= 0) {
+            block.flip();
+            session.scan(block, 0, block.length());
+        }
+        session.finish();
+    }
+
+    /**
+     * Copies text from a file to a destination, masking card and Social Security numbers. The file is memory-mapped
+     * and decoded in blocks, so it need not fit in memory. Malformed input is replaced.
+     *
+     * @param in      the file to scan.
+     * @param charset the character set of the file.
+     * @param out     the destination.
+     * @throws IOException if the file cannot be read or the destination throws.
+     */
+    public void scan(final Path in, final Charset charset, final Appendable out) throws IOException {
+        final CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final Session session = new Session(out);
+        final CharBuffer block = CharBuffer.allocate(BLOCK);
+        try (FileChannel channel = FileChannel.open(in, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            do {
+                final long length = Math.min(REGION, size - position);
+                final MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final boolean last = position + length == size;
+                decode(decoder, region, block, session, last);
+                position += region.position();
+                if (!last && region.position() == 0) throw new IOException("Undecodable input at " + position);
+            } while (position < size);
+            block.clear();
+            decoder.flush(block);
+            block.flip();
+            session.scan(block, 0, block.length());
+        }
+        session.finish();
+    }
+
+    private static void decode(final CharsetDecoder decoder, final ByteBuffer bytes, final CharBuffer block,
+                               final Session session, final boolean last) throws IOException {
+        CoderResult result;
+        do {
+            block.clear();
+            result = decoder.decode(bytes, block, last);
+            block.flip();
+            session.scan(block, 0, block.length());
+        } while (result.isOverflow());
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == ' ' || c == '-';
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * State of one pass over the input.
+     */
+    private final class Session {
+        private final Appendable out;
+
+        /** The candidate run of digit groups and single separators, possibly ending with one separator. */
+        private final StringBuilder candidate = new StringBuilder(MAX_CANDIDATE + 1);
+
+        /** Number of digits in the candidate. */
+        private int digits;
+
+        /** Whether the current group of digits is too long to be part of a match and is being copied unchanged. */
+        private boolean overflow;
+
+        /** Whether the candidate started immediately after a letter or digit. */
+        private boolean attached;
+
+        /** The last character seen outside a run. */
+        private char previous = ' ';
+
+        Session(final Appendable out) {
+            this.out = out;
+        }
+
+        void scan(final CharSequence in, final int start, final int end) throws IOException {
+            int copied = start;
+            for (int i = start; i < end; i++) {
+                final char c = in.charAt(i);
+                if (isDigit(c)) {
+                    if (overflow) continue;
+                    if (candidate.length() == 0) {
+                        out.append(in, copied, i);
+                        attached = Character.isLetterOrDigit(previous);
+                    }
+                    candidate.append(c);
+                    copied = i + 1;
+                    if (++digits > MAX_DIGITS && flush()) {
+                        // The current group alone is too long to be a match, so copy the rest of it unchanged
+                        out.append(candidate);
+                        reset();
+                        overflow = true;
+                    }
+                } else if (isSeparator(c) && candidate.length() > 0 && !separated()) {
+                    candidate.append(c);
+                    copied = i + 1;
+                } else {
+                    if (overflow) {
+                        overflow = false;
+                    } else if (candidate.length() > 0) {
+                        end(Character.isLetterOrDigit(c));
+                    }
+                    previous = c;
+                }
+            }
+            out.append(in, copied, end);
+        }
+
+        private boolean separated() {
+            final int length = candidate.length();
+            return length > 0 && isSeparator(candidate.charAt(length - 1));
+        }
+
+        /**
+         * Writes out leading groups of an overlong candidate, masking any match among them, until the candidate holds
+         * no more digits than a match can. Matches that start at the first group cannot reach the current group, so
+         * they can be decided before the run ends.
+         *
+         * @return {@code true} if the current group alone holds more digits than a match can.
+         */
+        private boolean flush() throws IOException {
+            while (digits > MAX_DIGITS) {
+                if (candidate.indexOf(" ") < 0 && candidate.indexOf("-") < 0) return true;
+                candidate.delete(0, step(0, false, false));
+                attached = false;
+                digits = 0;
+                for (int i = 0; i < candidate.length(); i++) {
+                    if (isDigit(candidate.charAt(i))) digits++;
+                }
+            }
+            return false;
+        }
+
+        void finish() throws IOException {
+            if (candidate.length() > 0) end(false);
+        }
+
+        /**
+         * Ends the current run, writing matches among its groups masked and everything else unchanged.
+         *
+         * @param followed whether the run is immediately followed by a letter or digit.
+         */
+        private void end(final boolean followed) throws IOException {
+            final boolean trailing = separated();
+            final char separator = trailing ? candidate.charAt(candidate.length() - 1) : 0;
+            if (trailing) candidate.setLength(candidate.length() - 1);
+            for (int pos = 0; pos < candidate.length(); ) pos = step(pos, true, followed && !trailing);
+            if (trailing) out.append(separator);
+            reset();
+        }
+
+        /**
+         * Writes the longest match that starts with the group at a position, or that group unchanged if there is
+         * none, followed by the next separator. Matches start and end at group boundaries, so numbers separated by a
+         * space or hyphen are matched individually as well as together.
+         *
+         * @param pos      the start of the group.
+         * @param complete whether the last group of the candidate is complete.
+         * @param followed whether the last group is immediately followed by a letter or digit.
+         * @return the position of the next group.
+         */
+        private int step(final int pos, final boolean complete, final boolean followed) throws IOException {
+            final int length = candidate.length();
+            int first = -1;
+            int best = -1;
+            int count = 0;
+            int shortest = Integer.MAX_VALUE;
+            for (int i = pos; i < length; i++) {
+                int e = i;
+                while (e < length && isDigit(candidate.charAt(e))) e++;
+                if (first < 0) first = e;
+                count += e - i;
+                shortest = Math.min(shortest, e - i);
+                if (count > MAX_DIGITS) break;
+                final boolean last = e == length;
+                if (!(pos == 0 && attached) && !(last && (!complete || followed))
+                        && matches(pos, e, count, shortest)) {
+                    best = e;
+                }
+                i = e;
+            }
+            final int next;
+            if (best >= 0) {
+                redactor.redactTo(out, candidate.substring(pos, best), precision);
+                next = best;
+            } else {
+                out.append(candidate, pos, first);
+                next = first;
+            }
+            if (next == length) return next;
+            out.append(candidate.charAt(next));
+            return next + 1;
+        }
+
+        private void reset() {
+            candidate.setLength(0);
+            digits = 0;
+        }
+
+        private boolean matches(final int start, final int end, final int count, final int shortest) {
+            if (count >= MIN_CARD_DIGITS) return shortest >= MIN_CARD_GROUP && luhn(start, end);
+            return count == 9 && ssn(start, end);
+        }
+
+        private boolean luhn(final int start, final int end) {
+            int sum = 0;
+            boolean twice = false;
+            for (int i = end - 1; i >= start; i--) {
+                final char c = candidate.charAt(i);
+                if (!isDigit(c)) continue;
+                int d = c - '0';
+                if (twice && (d *= 2) > 9) d -= 9;
+                sum += d;
+                twice = !twice;
+            }
+            return sum % 10 == 0;
+        }
+
+        private boolean ssn(final int start, final int end) {
+            final int length = end - start;
+            if (length == 11) {
+                final char separator = candidate.charAt(start + 3);
+                if (!isSeparator(separator) || candidate.charAt(start + 6) != separator) return false;
+            } else if (length != 9) {
+                return false;
+            }
+            final int area = number(start, 3);
+            final int group = number(start + (length == 9 ? 3 : 4), 2);
+            final int serial = number(start + (length == 9 ? 5 : 7), 4);
+            return area != 0 && area != 666 && area < 900 && group != 0 && serial != 0;
+        }
+
+        private int number(final int start, final int length) {
+            int n = 0;
+            for (int i = start; i < start + length; i++) n = n * 10 + (candidate.charAt(i) - '0');
+            return n;
+        }
+    }
+}
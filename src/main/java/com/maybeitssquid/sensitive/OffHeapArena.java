@@ -0,0 +1,76 @@
+package com.maybeitssquid.sensitive;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Packs many small {@link OffHeapField} values into a single direct buffer, so that each value costs only its
+ * characters and a small view rather than a separate direct allocation. Space is allocated sequentially and is not
+ * reused: {@link OffHeapField#close() closing} a field zeroes its characters, and {@link #close() closing} the arena
+ * zeroes every field allocated from it. The memory is returned when the arena and all of its fields are collected.
+ */
+public class OffHeapArena implements AutoCloseable {
+
+    private final CharBuffer buffer;
+
+    private int used;
+
+    private boolean closed;
+
+    /**
+     * Creates an arena.
+     *
+     * @param capacity the total number of characters the arena can hold.
+     */
+    public OffHeapArena(final int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(2 * capacity).asCharBuffer();
+    }
+
+    /**
+     * Copies sensitive text into the arena.
+     *
+     * @param sensitive the sensitive text.
+     * @param mask      the masking character used to replace redacted characters.
+     * @return a field backed by the arena.
+     * @throws IllegalStateException if the arena is closed or does not have room for the text.
+     */
+    public synchronized OffHeapField field(final CharSequence sensitive, final char mask) {
+        if (sensitive == null) throw new NullPointerException("Sensitive value cannot be null");
+        if (closed) throw new IllegalStateException("Arena is closed");
+        final int length = sensitive.length();
+        if (length > remaining()) throw new IllegalStateException("Arena has room for " + remaining() + " characters, not " + length);
+        final CharBuffer slice = buffer.duplicate().position(used).limit(used + length).slice();
+        slice.append(sensitive).flip();
+        used += length;
+        return new OffHeapField(slice, mask);
+    }
+
+    /**
+     * Copies sensitive text into the arena. Uses {@link Redactor#DEFAULT_MASK} to replace redacted characters.
+     *
+     * @param sensitive the sensitive text.
+     * @return a field backed by the arena.
+     * @throws IllegalStateException if the arena is closed or does not have room for the text.
+     */
+    public OffHeapField field(final CharSequence sensitive) {
+        return field(sensitive, Redactor.DEFAULT_MASK);
+    }
+
+    /**
+     * Returns the number of characters that can still be allocated.
+     *
+     * @return the number of unallocated characters.
+     */
+    public synchronized int remaining() {
+        return buffer.capacity() - used;
+    }
+
+    /**
+     * Zeroes every field allocated from the arena and prevents further allocation.
+     */
+    @Override
+    public synchronized void close() {
+        for (int i = 0; i < used; i++) buffer.put(i, '\0');
+        closed = true;
+    }
+}
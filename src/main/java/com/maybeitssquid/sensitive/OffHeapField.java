@@ -0,0 +1,63 @@
+package com.maybeitssquid.sensitive;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * A {@link MaskedField} whose text is held off-heap in a direct buffer. The text does not add to the garbage-collected
+ * heap and does not appear in heap dumps. Masking, {@link #equals(Object)} and {@link #hashCode()} all read the
+ * characters directly from the buffer.
+ * <p>
+ * {@link #close() Closing} the field zeroes its characters. A standalone field's memory is returned when the field is
+ * collected; to hold many small values, allocate them from an {@link OffHeapArena} to avoid the overhead of a separate
+ * direct buffer per value.
+ * </p>
+ */
+public class OffHeapField extends MaskedField implements AutoCloseable {
+
+    /**
+     * Creates a field that wraps an existing off-heap buffer. The buffer is not copied.
+     *
+     * @param sensitive the buffer holding the sensitive text.
+     * @param mask      the masking character used to replace redacted characters.
+     */
+    protected OffHeapField(final CharBuffer sensitive, final char mask) {
+        super(sensitive, mask);
+    }
+
+    /**
+     * Creates a field by copying sensitive text into a new direct buffer.
+     *
+     * @param sensitive the sensitive text.
+     * @param mask      the masking character used to replace redacted characters.
+     */
+    public OffHeapField(final CharSequence sensitive, final char mask) {
+        this(copy(sensitive), mask);
+    }
+
+    /**
+     * Creates a field by copying sensitive text into a new direct buffer. Uses {@link Redactor#DEFAULT_MASK} to
+     * replace redacted characters.
+     *
+     * @param sensitive the sensitive text.
+     */
+    public OffHeapField(final CharSequence sensitive) {
+        this(sensitive, Redactor.DEFAULT_MASK);
+    }
+
+    private static CharBuffer copy(final CharSequence sensitive) {
+        if (sensitive == null) throw new NullPointerException("Sensitive value cannot be null");
+        final CharBuffer buffer = ByteBuffer.allocateDirect(2 * sensitive.length()).asCharBuffer();
+        buffer.append(sensitive).flip();
+        return buffer;
+    }
+
+    /**
+     * Zeroes the characters of this field.
+     */
+    @Override
+    public void close() {
+        final CharBuffer buffer = (CharBuffer) this.sensitive;
+        for (int i = 0; i < buffer.limit(); i++) buffer.put(i, '\0');
+    }
+}
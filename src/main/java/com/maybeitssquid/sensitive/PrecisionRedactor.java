@@ -0,0 +1,65 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+
+/**
+ * A redactor that adjusts the requested precision before delegating to another redactor. Backs
+ * {@link Redactor#limited(int, BiFunction)} and {@link Redactor#defaulted(java.util.function.Function, BiFunction)}
+ * so that streaming calls reach the wrapped redactor without rendering an intermediate value.
+ *
+ * @param <T> the type of data to protect.
+ */
+final class PrecisionRedactor<T> extends AbstractRedactor<T> {
+
+    /**
+     * Computes the precision to pass to the wrapped redactor.
+     *
+     * @param <T> the type of data to protect.
+     */
+    @FunctionalInterface
+    interface Adjustment<T> {
+        /**
+         * Computes the adjusted precision.
+         *
+         * @param t         the sensitive data.
+         * @param precision the requested precision.
+         * @return the precision to pass to the wrapped redactor.
+         */
+        int exposed(T t, int precision);
+    }
+
+    private final Adjustment<T> adjustment;
+
+    private final Redactor<T> after;
+
+    /** Whether the wrapped redactor is known to implement the primitive path rather than delegate to apply. */
+    private final boolean primitive;
+
+    PrecisionRedactor(final Adjustment<T> adjustment, final BiFunction<T, Integer, CharSequence> after) {
+        this.adjustment = adjustment;
+        this.after = Redactor.of(after);
+        this.primitive = this.after instanceof AbstractRedactor;
+    }
+
+    @Override
+    public CharSequence redact(final T t, final int precision) {
+        final int exposed = adjustment.exposed(t, precision);
+        return primitive ? after.redact(t, exposed) : after.apply(t, exposed);
+    }
+
+    @Override
+    public int redactedLength(final T t, final int precision) {
+        return after.redactedLength(t, adjustment.exposed(t, precision));
+    }
+
+    @Override
+    public boolean exposes(final T t, final int precision) {
+        return after.exposes(t, adjustment.exposed(t, precision));
+    }
+
+    @Override
+    public void redactTo(final Appendable out, final T t, final int precision) throws IOException {
+        after.redactTo(out, t, adjustment.exposed(t, precision));
+    }
+}
@@ -0,0 +1,24 @@
+package com.maybeitssquid.sensitive;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field to be replaced entirely by the renderer that {@link RedactionProcessor} generates for its class. The
+ * value is never read.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Redacted {
+
+    /**
+     * The text rendered in place of the value.
+     *
+     * @return the replacement text.
+     */
+    String value() default "[REDACTED]";
+}
@@ -0,0 +1,154 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.FormattableFlags;
+import java.util.Locale;
+
+/**
+ * Formats log messages with SLF4J-style {@code {}} placeholders into a caller-supplied, reusable
+ * {@link StringBuilder}. {@link Sensitive} arguments are rendered straight into the builder without calling
+ * {@link Sensitive#toString()}, so a garbage-free logging setup stays garbage-free when sensitive values are logged.
+ * <p>
+ * A placeholder may carry a format specification using the flags, width and precision of {@code %s}:
+ * </p>
+ * <pre>{@code
+ * {[flags][width][.precision][S]}
+ * }</pre>
+ * <p>
+ * where the flags are {@code -} (left-justify) and {@code #} (alternate), and a trailing {@code S} converts the
+ * rendition to upper case. As with {@code %s}, the {@code -} flag requires a width. Widths and precisions are ASCII
+ * digits and must fit in an {@code int}. For example, {@code {.4}} exposes up to four characters of a
+ * {@link MaskedField}, like {@code %.4s}. Other arguments are rendered with {@link String#valueOf(Object)} and the same
+ * width, precision and case rules as {@code %s}. A placeholder preceded by a backslash is written literally, and
+ * malformed placeholders, such as {@code {-}}, and placeholders without a matching argument are written as is.
+ * </p>
+ */
+public final class RedactingMessageFormatter {
+
+    private RedactingMessageFormatter() {
+    }
+
+    /**
+     * Formats a message using the default format locale.
+     *
+     * @param out     the destination.
+     * @param pattern the message pattern.
+     * @param args    the arguments to substitute for the placeholders.
+     * @return the destination.
+     */
+    public static StringBuilder format(final StringBuilder out, final String pattern, final Object... args) {
+        return format(out, Locale.getDefault(Locale.Category.FORMAT), pattern, args);
+    }
+
+    /**
+     * Formats a message.
+     *
+     * @param out     the destination.
+     * @param locale  the locale used for upper-casing.
+     * @param pattern the message pattern.
+     * @param args    the arguments to substitute for the placeholders.
+     * @return the destination.
+     */
+    public static StringBuilder format(final StringBuilder out, final Locale locale, final String pattern, final Object... args) {
+        final int length = pattern.length();
+        int arg = 0;
+        int i = 0;
+        while (i < length) {
+            final char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < length && pattern.charAt(i + 1) == '{') {
+                out.append('{');
+                i += 2;
+            } else if (c == '{' && args != null && arg < args.length) {
+                final int end = placeholder(pattern, i);
+                if (end < 0) {
+                    out.append(c);
+                    i++;
+                } else {
+                    append(out, locale, pattern, i + 1, end, args[arg++]);
+                    i = end + 1;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Finds the closing brace of a well-formed placeholder.
+     *
+     * @return the index of the closing brace, or -1 if the text at {@code start} is not a placeholder.
+     */
+    private static int placeholder(final String pattern, final int start) {
+        int i = start + 1;
+        boolean left = false;
+        for (; i < pattern.length() && (pattern.charAt(i) == '-' || pattern.charAt(i) == '#'); i++) {
+            left |= pattern.charAt(i) == '-';
+        }
+        final int width = i;
+        i = number(pattern, i);
+        // Like %-s, left-justification needs a width
+        if (i < 0 || left && i == width) return -1;
+        if (i < pattern.length() && pattern.charAt(i) == '.') {
+            final int digits = ++i;
+            i = number(pattern, i);
+            if (i <= digits) return -1;
+        }
+        if (i < pattern.length() && pattern.charAt(i) == 'S') i++;
+        return i < pattern.length() && pattern.charAt(i) == '}' ? i : -1;
+    }
+
+    /**
+     * Skips a run of ASCII digits.
+     *
+     * @return the index after the digits, or -1 if their value does not fit in an {@code int}.
+     */
+    private static int number(final String pattern, int i) {
+        long value = 0;
+        for (; i < pattern.length() && isDigit(pattern.charAt(i)); i++) {
+            value = value * 10 + (pattern.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) return -1;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void append(final StringBuilder out, final Locale locale, final String pattern,
+                               final int start, final int end, final Object arg) {
+        int flags = 0;
+        int width = -1;
+        int precision = -1;
+        int i = start;
+        for (; pattern.charAt(i) == '-' || pattern.charAt(i) == '#'; i++) {
+            flags |= pattern.charAt(i) == '-' ? FormattableFlags.LEFT_JUSTIFY : FormattableFlags.ALTERNATE;
+        }
+        for (; isDigit(pattern.charAt(i)); i++) width = Math.max(0, width) * 10 + (pattern.charAt(i) - '0');
+        if (pattern.charAt(i) == '.') {
+            precision = 0;
+            for (i++; isDigit(pattern.charAt(i)); i++) precision = precision * 10 + (pattern.charAt(i) - '0');
+        }
+        if (i < end && pattern.charAt(i) == 'S') flags |= FormattableFlags.UPPERCASE;
+
+        if (arg instanceof Sensitive) {
+            try {
+                Sensitive.appendTo((Sensitive<?>) arg, out, locale, flags, width, precision);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        } else if (flags == 0 && width < 0 && precision < 0) {
+            out.append(arg);
+        } else {
+            String text = String.valueOf(arg);
+            if (precision >= 0 && precision < text.length()) text = text.substring(0, precision);
+            if ((flags & FormattableFlags.UPPERCASE) != 0) text = text.toUpperCase(locale);
+            final boolean left = (flags & FormattableFlags.LEFT_JUSTIFY) != 0;
+            if (!left) for (int pad = text.length(); pad < width; pad++) out.append(' ');
+            out.append(text);
+            if (left) for (int pad = text.length(); pad < width; pad++) out.append(' ');
+        }
+    }
+}
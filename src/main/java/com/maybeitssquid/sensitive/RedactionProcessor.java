@@ -0,0 +1,247 @@
+package com.maybeitssquid.sensitive;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that generates a renderer for each class with fields annotated {@link Masked} or
+ * {@link Redacted}.
+ * <p>
+ * For a class {@code Customer}, it generates {@code CustomerRenderer} in the same package, with static methods
+ * {@code toString(Customer)} and {@code appendTo(StringBuilder, Customer)}. They render the class's own instance
+ * fields, other than static and transient ones, as {@code Customer{name=Ann, ssn=#######6789}}: masked fields through
+ * a shared {@link Redactor#mask(char)} redactor, redacted fields as their replacement text, and other fields with
+ * {@link StringBuilder#append(Object)}. Each field is read directly, or through an accessor named like the field or
+ * prefixed with {@code get} or {@code is} if the field is private. The generated code is straight-line and uses no
+ * reflection. Nested classes get renderers named after their enclosing classes, such as {@code Outer_InnerRenderer}.
+ * </p>
+ * <p>
+ * A class uses its renderer by delegating to it:
+ * </p>
+ * <pre>{@code
+ * @Override
+ * public String toString() {
+ *     return CustomerRenderer.toString(this);
+ * }
+ * }</pre>
+ */
+public class RedactionProcessor extends AbstractProcessor {
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Masked.class.getCanonicalName(), Redacted.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        final Set<TypeElement> types = new LinkedHashSet<>();
+        for (final Element field : round.getElementsAnnotatedWith(Masked.class)) {
+            types.add((TypeElement) field.getEnclosingElement());
+        }
+        for (final Element field : round.getElementsAnnotatedWith(Redacted.class)) {
+            types.add((TypeElement) field.getEnclosingElement());
+        }
+        for (final TypeElement type : types) generate(type);
+        return true;
+    }
+
+    private void error(final String message, final Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void generate(final TypeElement type) {
+        // The renderer is a top-level class, so it can only name types that other classes in the package can reach
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            final NestingKind nesting = ((TypeElement) enclosing).getNestingKind();
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+                error("Local and anonymous classes cannot be rendered", type);
+                return;
+            }
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                error("Private classes, and classes nested in them, cannot be rendered", type);
+                return;
+            }
+        }
+        final String pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String name = rendererName(type);
+        final String target = type.getQualifiedName() + (type.getTypeParameters().isEmpty() ? "" : "<?>");
+
+        final StringBuilder body = new StringBuilder();
+        final Set<Character> masks = new TreeSet<>();
+        boolean first = true;
+        boolean valid = true;
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            final Masked masked = field.getAnnotation(Masked.class);
+            final Redacted redacted = field.getAnnotation(Redacted.class);
+            final String label = (first ? "" : ", ") + field.getSimpleName() + "=";
+            first = false;
+            body.append("        out.append(").append(literal(label)).append(");\n");
+            if (masked != null && redacted != null) {
+                error("Field cannot be both @Masked and @Redacted", field);
+                valid = false;
+            } else if (redacted != null) {
+                body.append("        out.append(").append(literal(redacted.value())).append(");\n");
+            } else {
+                final String access = access(type, field);
+                if (access == null) {
+                    error("Private field has no accessor, so it cannot be rendered", field);
+                    valid = false;
+                } else if (masked != null) {
+                    if (masked.expose() < 0) {
+                        error("@Masked expose must not be negative", field);
+                        valid = false;
+                    }
+                    masks.add(masked.mask());
+                    body.append("        mask(out, ").append(maskField(masked.mask())).append(", ")
+                            .append(access).append(", ").append(masked.expose()).append(");\n");
+                } else {
+                    body.append("        out.append(").append(access).append(");\n");
+                }
+            }
+        }
+        if (!valid) return;
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(
+                pkg.isEmpty() ? name : pkg + "." + name, type).openWriter()) {
+            final StringBuilder src = new StringBuilder();
+            if (!pkg.isEmpty()) src.append("package ").append(pkg).append(";\n\n");
+            src.append("/**\n")
+                    .append(" * Renders {@link ").append(type.getQualifiedName())
+                    .append("} with sensitive fields redacted. Generated by {@link ")
+                    .append(RedactionProcessor.class.getName()).append("}.\n")
+                    .append(" */\n")
+                    .append("public final class ").append(name).append(" {\n\n");
+            for (final char mask : masks) {
+                src.append("    private static final com.maybeitssquid.sensitive.Redactor<CharSequence> ")
+                        .append(maskField(mask)).append(" =\n")
+                        .append("            com.maybeitssquid.sensitive.Redactor.mask(")
+                        .append(charLiteral(mask)).append(");\n\n");
+            }
+            src.append("    private ").append(name).append("() {\n    }\n\n")
+                    .append("    /**\n")
+                    .append("     * Renders a value.\n")
+                    .append("     *\n")
+                    .append("     * @param value the value to render.\n")
+                    .append("     * @return the rendered value.\n")
+                    .append("     */\n")
+                    .append("    public static String toString(final ").append(target).append(" value) {\n")
+                    .append("        return appendTo(new StringBuilder(64), value).toString();\n")
+                    .append("    }\n\n")
+                    .append("    /**\n")
+                    .append("     * Appends a rendered value to a builder.\n")
+                    .append("     *\n")
+                    .append("     * @param out   the destination.\n")
+                    .append("     * @param value the value to render.\n")
+                    .append("     * @return the destination.\n")
+                    .append("     */\n")
+                    .append("    public static StringBuilder appendTo(final StringBuilder out, final ").append(target)
+                    .append(" value) {\n")
+                    .append("        if (value == null) return out.append(\"null\");\n")
+                    .append("        out.append(").append(literal(type.getSimpleName() + "{")).append(");\n")
+                    .append(body)
+                    .append("        return out.append('}');\n")
+                    .append("    }\n");
+            if (!masks.isEmpty()) {
+                src.append("\n")
+                        .append("    private static void mask(final StringBuilder out,\n")
+                        .append("                             final com.maybeitssquid.sensitive.Redactor<CharSequence> mask,\n")
+                        .append("                             final Object value, final int expose) {\n")
+                        .append("        if (value == null) {\n")
+                        .append("            out.append(\"null\");\n")
+                        .append("            return;\n")
+                        .append("        }\n")
+                        .append("        try {\n")
+                        .append("            mask.redactTo(out, value instanceof CharSequence ? (CharSequence) value")
+                        .append(" : String.valueOf(value), expose);\n")
+                        .append("        } catch (final java.io.IOException e) {\n")
+                        .append("            throw new java.io.UncheckedIOException(e);\n")
+                        .append("        }\n")
+                        .append("    }\n");
+            }
+            src.append("}\n");
+            out.write(src.toString());
+        } catch (final IOException e) {
+            error("Cannot write renderer: " + e.getMessage(), type);
+        }
+    }
+
+    private static String rendererName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type;
+        while (((TypeElement) enclosing).getNestingKind() == NestingKind.MEMBER) {
+            enclosing = enclosing.getEnclosingElement();
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+        }
+        return name.append("Renderer").toString();
+    }
+
+    /**
+     * Gets an expression that reads a field of {@code value}.
+     *
+     * @return the expression, or {@code null} if the field is private and has no accessor.
+     */
+    private static String access(final TypeElement type, final VariableElement field) {
+        final String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) return "value." + name;
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+        for (final String candidate : new String[]{name, "get" + capitalized, "is" + capitalized}) {
+            for (final ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(candidate) && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && method.getKind() == ElementKind.METHOD) {
+                    return "value." + candidate + "()";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String maskField(final char mask) {
+        return "MASK_" + Integer.toHexString(mask).toUpperCase();
+    }
+
+    private static String charLiteral(final char c) {
+        return "'\\u" + String.format("%04x", (int) c) + "'";
+    }
+
+    private static String literal(final String text) {
+        final StringBuilder literal = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
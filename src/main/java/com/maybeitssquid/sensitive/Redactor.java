@@ -1,5 +1,6 @@
 package com.maybeitssquid.sensitive;
 
+import java.io.IOException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -9,13 +10,102 @@ import java.util.function.Function;
  * @param <T> the type of data to protect.
  */
 @SuppressWarnings("unused")
-public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
+public interface Redactor<T> extends BiFunction<T, Integer, CharSequence>, IntRedactor<T> {
 
     /**
      * Commonly used masking character.
      */
     char DEFAULT_MASK = '#';
 
+    /**
+     * Renders the sensitive data by calling {@link #apply(Object, Object)}. The predefined redactors override this
+     * method so that the precision is never boxed.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    default CharSequence redact(final T t, final int precision) {
+        return apply(t, precision);
+    }
+
+    /**
+     * Returns the length of the redacted rendition without rendering it, or {@code -1} if the length cannot be
+     * determined more cheaply than by rendering. The default implementation returns {@code -1}.
+     *
+     * @param t         the sensitive data.
+     * @param precision the requested precision.
+     * @return the length of the redacted rendition, or {@code -1} if unknown.
+     */
+    default int redactedLength(final T t, final int precision) {
+        return -1;
+    }
+
+    /**
+     * Indicates, without rendering, whether the rendition at a precision may leave characters of the sensitive data in
+     * plain text. {@link ExposureBudget Exposure budgets} are only charged for renditions that may expose characters.
+     * The default implementation knows nothing of the redaction, so it answers {@code true} for any precision other
+     * than 0; the predefined redactors answer exactly.
+     *
+     * @param t         the sensitive data.
+     * @param precision the requested precision.
+     * @return {@code false} if the rendition exposes nothing.
+     */
+    default boolean exposes(final T t, final int precision) {
+        return precision != 0;
+    }
+
+    /**
+     * Writes the redacted rendition directly to an {@link Appendable}. The default implementation appends the result
+     * of {@link #redact(Object, int)}; implementations that can emit the rendition without building an intermediate
+     * {@code CharSequence} should override this method.
+     *
+     * @param out       the destination.
+     * @param t         the sensitive data.
+     * @param precision the requested precision.
+     * @throws IOException if the destination throws.
+     */
+    default void redactTo(final Appendable out, final T t, final int precision) throws IOException {
+        out.append(redact(t, precision));
+    }
+
+    /**
+     * Adapts a plain {@code BiFunction} to a {@code Redactor}. Returns the argument itself if it is already a
+     * {@code Redactor}, and uses the primitive path if it is also an {@link IntRedactor}.
+     *
+     * @param redaction the redaction function to adapt.
+     * @param <T>       The type of sensitive data to be protected.
+     * @return a redactor that delegates to the function.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Redactor<T> of(final BiFunction<T, Integer, CharSequence> redaction) {
+        if (redaction instanceof Redactor) return (Redactor<T>) redaction;
+        if (redaction instanceof IntRedactor) return from((IntRedactor<T>) redaction);
+        return redaction::apply;
+    }
+
+    /**
+     * Bridges an {@link IntRedactor} to a {@code Redactor}, so that it can be returned from
+     * {@link Sensitive#redactor()}. Returns the argument itself if it is already a {@code Redactor}. The boxed
+     * {@link #apply(Object, Object)} of the result unboxes and delegates, and the primitive path calls the argument
+     * directly.
+     *
+     * @param redaction the redaction function to bridge.
+     * @param <T>       The type of sensitive data to be protected.
+     * @return a redactor that delegates to the function.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Redactor<T> from(final IntRedactor<T> redaction) {
+        if (redaction instanceof Redactor) return (Redactor<T>) redaction;
+        return new AbstractRedactor<>() {
+            @Override
+            public CharSequence redact(final T t, final int precision) {
+                return redaction.redact(t, precision);
+            }
+        };
+    }
+
     /**
      * Returns a redactor that always returns an empty string.
      *
@@ -23,7 +113,17 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return a redactor that always returns an empty string.
      */
     static <T> Redactor<T> empty() {
-        return (t, p) -> "";
+        return new AbstractRedactor<>() {
+            @Override
+            public CharSequence redact(final T t, final int precision) {
+                return "";
+            }
+
+            @Override
+            public boolean exposes(final T t, final int precision) {
+                return false;
+            }
+        };
     }
 
     /**
@@ -35,10 +135,7 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return function to apply a maximum precision.
      */
     static <T> Redactor<T> limited(final int max, final BiFunction<T, Integer, CharSequence> after) {
-        return (t, p) -> {
-            final int exposed = p == -1 ? max : Math.min(p, max);
-            return after.apply(t, exposed);
-        };
+        return new PrecisionRedactor<>((t, p) -> p == -1 ? max : Math.min(p, max), after);
     }
 
     /**
@@ -50,11 +147,7 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return function to apply a maximum precision based on the input length.
      */
     static <T> Redactor<T> limited(final Function<T, Integer> length, final BiFunction<T, Integer, CharSequence> after) {
-        return (t, p) -> {
-            final int max = length.apply(t) / 2;
-            final int exposed = p == -1 ? max : Math.min(p, max);
-            return after.apply(t, exposed);
-        };
+        return IntRedactor.limited(length::apply, after);
     }
 
     /**
@@ -64,7 +157,7 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return function to apply a maximum precision based on the input length.
      */
     static Redactor<CharSequence> limited(final BiFunction<CharSequence, Integer, CharSequence> after) {
-        return limited(CharSequence::length, after);
+        return IntRedactor.limited(CharSequence::length, after);
     }
 
     /**
@@ -77,10 +170,7 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return function to apply a default number of characters redacted.
      */
     static <T> Redactor<T> defaulted(final Function<T, Integer> length, final BiFunction<T, Integer, CharSequence> after) {
-        return (t, p) -> {
-            final int exposed = p == -1 ? length.apply(t) / 2 : p;
-            return after.apply(t, exposed);
-        };
+        return IntRedactor.defaulted(length::apply, after);
     }
 
     /**
@@ -91,28 +181,18 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
      * @return function to apply a default number of characters redacted.
      */
     static Redactor<CharSequence> defaulted(final BiFunction<CharSequence, Integer, CharSequence> after) {
-        return defaulted(CharSequence::length, after);
+        return IntRedactor.defaulted(CharSequence::length, after);
     }
 
     /**
      * Returns a function that replaces a number of characters from an input character sequence with a masking
-     * character.
+     * character. The function is stateless, and a single instance is shared for each ASCII masking character.
      *
      * @param masking the masking character to use.
      * @return function to mask the data.
      */
     static Redactor<CharSequence> mask(final char masking) {
-        return (t, p) -> {
-            final int len = t.length();
-            if (p >= len) {
-                return t;
-            } else if (p <= 0) {
-                return Character.toString(masking).repeat(len);
-            } else {
-                return Character.toString(masking).repeat(len - p) +
-                        t.subSequence(len - p, len);
-            }
-        };
+        return MaskRedactor.of(masking);
     }
 
     /**
@@ -125,4 +205,104 @@ public interface Redactor<T> extends BiFunction<T, Integer, CharSequence> {
         return mask(DEFAULT_MASK);
     }
 
+    /**
+     * Returns a function that replaces the significant characters of an input character sequence with a masking
+     * character, leaving other characters, such as separators, in place. The precision is the number of rightmost
+     * significant characters left unmasked, so {@code "4111-1111-1111-1111"} masked with {@link CharPredicate#digits()}
+     * at precision 4 is {@code "####-####-####-1111"}. To limit precision to half the significant characters, pass
+     * {@link CharPredicate#count(CharSequence)} as the length function of {@link #limited(Function, BiFunction)} or
+     * {@link #defaulted(Function, BiFunction)}.
+     *
+     * @param masking     the masking character to use.
+     * @param significant the characters to mask.
+     * @return function to mask the data.
+     */
+    static Redactor<CharSequence> mask(final char masking, final CharPredicate significant) {
+        return significant == CharPredicate.digits()
+                ? new DigitMaskRedactor(masking)
+                : new ClassMaskRedactor(masking, significant);
+    }
+
+    /**
+     * Returns a function that replaces the significant characters of an input character sequence with
+     * {@link #DEFAULT_MASK}, leaving other characters in place.
+     *
+     * @param significant the characters to mask.
+     * @return function to mask the data.
+     * @see #mask(char, CharPredicate)
+     */
+    static Redactor<CharSequence> mask(final CharPredicate significant) {
+        return mask(DEFAULT_MASK, significant);
+    }
+
+    /**
+     * Returns a function that replaces the ASCII digits of an input character sequence with a masking character,
+     * leaving separators and other characters in place. Equivalent to {@code mask(masking, CharPredicate.digits())}.
+     * On Java 21, digits are counted and masked with the vector API if the {@code jdk.incubator.vector} module has
+     * been added with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @param masking the masking character to use.
+     * @return function to mask the digits.
+     */
+    static Redactor<CharSequence> maskDigits(final char masking) {
+        return mask(masking, CharPredicate.digits());
+    }
+
+    /**
+     * Returns a function that replaces the ASCII digits of an input character sequence with {@link #DEFAULT_MASK},
+     * leaving separators and other characters in place.
+     *
+     * @return function to mask the digits.
+     * @see #maskDigits(char)
+     */
+    static Redactor<CharSequence> maskDigits() {
+        return maskDigits(DEFAULT_MASK);
+    }
+
+    /**
+     * Returns a function that replaces text with a stable, format-preserving token derived from a secret key.
+     * Create one {@link Tokenizer} per key and share it, so that its cache of recent tokens is shared too.
+     *
+     * @param key the secret key, of at least 16 bytes.
+     * @return function to tokenize the data.
+     * @see Tokenizer
+     */
+    static Redactor<CharSequence> tokenize(final byte[] key) {
+        return new Tokenizer(key);
+    }
+
+    /**
+     * Returns a function that masks like {@link #mask(char)}, but returns a lazy view of the input instead of a new
+     * {@code String}. The view holds a reference to the input and renders masked characters on demand, so masking a
+     * large value costs constant memory until the view is written out. The input should not be modified while the
+     * view is in use.
+     *
+     * @param masking the masking character to use.
+     * @return function to mask the data.
+     */
+    static Redactor<CharSequence> maskView(final char masking) {
+        return new MaskRedactor(masking, true);
+    }
+
+    /**
+     * Returns a function that masks like {@link #mask()}, but returns a lazy view of the input instead of a new
+     * {@code String}.
+     *
+     * @return function to mask the data.
+     * @see #maskView(char)
+     */
+    static Redactor<CharSequence> maskView() {
+        return maskView(DEFAULT_MASK);
+    }
+
+    /**
+     * Returns a builder that compiles a chain of precision limits and defaults around a mask into a single redactor.
+     *
+     * @return a new builder.
+     * @see RedactorBuilder
+     */
+    static RedactorBuilder builder() {
+        return new RedactorBuilder();
+    }
+
 }
\ No newline at end of file
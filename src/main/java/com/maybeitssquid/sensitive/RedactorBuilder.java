@@ -0,0 +1,196 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+
+/**
+ * Builds a masking redactor equivalent to a chain of {@link Redactor#limited(int, java.util.function.BiFunction)},
+ * {@link Redactor#limited(java.util.function.BiFunction)} and {@link Redactor#defaulted(java.util.function.BiFunction)}
+ * wrappers around {@link Redactor#mask(char)}, compiled into a single redactor. Steps are listed outermost first, so
+ * <pre>{@code
+ * Redactor.builder().max(4).defaultHalf().mask('*').build()
+ * }</pre>
+ * behaves like {@code Redactor.limited(4, Redactor.defaulted(Redactor.mask('*')))}. The compiled redactor computes
+ * the exposed precision with a few integer comparisons, without boxing and without calling through a chain of
+ * functions.
+ */
+public final class RedactorBuilder {
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    /** Precision used when none is requested, from the outermost step; -1 if there are no steps. */
+    private int fixedDefault = -1;
+
+    /** Whether the outermost step defaults to half the length. */
+    private boolean halfDefault;
+
+    /** Smallest hard maximum after the outermost step. */
+    private int innerMax = NONE;
+
+    /** Whether any step after the outermost limits precision to half the length. */
+    private boolean innerHalf;
+
+    /** Smallest hard maximum over all steps. */
+    private int max = NONE;
+
+    /** Whether any step limits precision to half the length. */
+    private boolean half;
+
+    private boolean first = true;
+
+    private char masking = Redactor.DEFAULT_MASK;
+
+    /** Characters to mask, or {@code null} for all. */
+    private CharPredicate significant;
+
+    RedactorBuilder() {
+    }
+
+    /**
+     * Adds a hard maximum precision, as {@link Redactor#limited(int, java.util.function.BiFunction)} does.
+     *
+     * @param max the maximum precision allowed.
+     * @return this builder.
+     * @throws IllegalArgumentException if {@code max} is negative.
+     */
+    public RedactorBuilder max(final int max) {
+        if (max < 0) throw new IllegalArgumentException("Maximum precision cannot be negative: " + max);
+        if (first) {
+            fixedDefault = max;
+        } else {
+            innerMax = Math.min(innerMax, max);
+        }
+        this.max = Math.min(this.max, max);
+        first = false;
+        return this;
+    }
+
+    /**
+     * Adds a precision limit of half the length, as {@link Redactor#limited(java.util.function.BiFunction)} does.
+     *
+     * @return this builder.
+     */
+    public RedactorBuilder limitHalf() {
+        if (first) {
+            halfDefault = true;
+        } else {
+            innerHalf = true;
+        }
+        half = true;
+        first = false;
+        return this;
+    }
+
+    /**
+     * Adds a default precision of half the length, as {@link Redactor#defaulted(java.util.function.BiFunction)} does.
+     *
+     * @return this builder.
+     */
+    public RedactorBuilder defaultHalf() {
+        if (first) halfDefault = true;
+        first = false;
+        return this;
+    }
+
+    /**
+     * Sets the masking character. The default is {@link Redactor#DEFAULT_MASK}.
+     *
+     * @param masking the masking character to use.
+     * @return this builder.
+     */
+    public RedactorBuilder mask(final char masking) {
+        this.masking = masking;
+        this.significant = null;
+        return this;
+    }
+
+    /**
+     * Sets the masking character and masks only significant characters, as
+     * {@link Redactor#mask(char, CharPredicate)} does. Half-length limits and defaults count significant characters
+     * rather than the whole length.
+     *
+     * @param masking     the masking character to use.
+     * @param significant the characters to mask.
+     * @return this builder.
+     */
+    public RedactorBuilder mask(final char masking, final CharPredicate significant) {
+        this.masking = masking;
+        this.significant = significant;
+        return this;
+    }
+
+    /**
+     * Sets the masking character to {@link Redactor#DEFAULT_MASK}.
+     *
+     * @return this builder.
+     */
+    public RedactorBuilder mask() {
+        return mask(Redactor.DEFAULT_MASK);
+    }
+
+    /**
+     * Compiles the steps into a single redactor.
+     *
+     * @return the compiled redactor.
+     */
+    public Redactor<CharSequence> build() {
+        return new Compiled(fixedDefault, halfDefault, innerMax, innerHalf, max, half, masking, significant);
+    }
+
+    /**
+     * Masking redactor with the precision steps folded into a closed form. An unspecified precision takes the default
+     * of the outermost step and is then capped by the steps inside it; an explicit precision is capped by every step.
+     */
+    private static final class Compiled extends AbstractRedactor<CharSequence> {
+        private final int fixedDefault;
+        private final boolean halfDefault;
+        private final int innerMax;
+        private final boolean innerHalf;
+        private final int max;
+        private final boolean half;
+        private final CharPredicate significant;
+        private final Redactor<CharSequence> mask;
+
+        Compiled(final int fixedDefault, final boolean halfDefault, final int innerMax, final boolean innerHalf,
+                 final int max, final boolean half, final char masking, final CharPredicate significant) {
+            this.fixedDefault = fixedDefault;
+            this.halfDefault = halfDefault;
+            this.innerMax = innerMax;
+            this.innerHalf = innerHalf;
+            this.max = max;
+            this.half = half;
+            this.significant = significant;
+            this.mask = significant == null ? new MaskRedactor(masking, false) : Redactor.mask(masking, significant);
+        }
+
+        private int exposed(final CharSequence t, final int p) {
+            // Only half-length steps need the length, which costs a pass when counting significant characters
+            final int len = !(half || halfDefault) ? 0 : significant == null ? t.length() : significant.count(t);
+            if (p == -1) {
+                final int exposed = Math.min(halfDefault ? len / 2 : fixedDefault, innerMax);
+                return innerHalf ? Math.min(exposed, len / 2) : exposed;
+            }
+            final int exposed = Math.min(p, max);
+            return half ? Math.min(exposed, len / 2) : exposed;
+        }
+
+        @Override
+        public CharSequence redact(final CharSequence t, final int p) {
+            return mask.redact(t, exposed(t, p));
+        }
+
+        @Override
+        public int redactedLength(final CharSequence t, final int precision) {
+            return t.length();
+        }
+
+        @Override
+        public boolean exposes(final CharSequence t, final int precision) {
+            return exposed(t, precision) > 0;
+        }
+
+        @Override
+        public void redactTo(final Appendable out, final CharSequence t, final int precision) throws IOException {
+            mask.redactTo(out, t, exposed(t, precision));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.maybeitssquid.sensitive;
+
+import java.util.ServiceLoader;
+
+/**
+ * Service provider interface for counting and timing renditions of {@link Sensitive} values.
+ * <p>
+ * The first implementation found by {@link ServiceLoader} is {@link #INSTALLED installed} when this interface is
+ * initialized. Register an implementation by listing its class name in
+ * {@code META-INF/services/com.maybeitssquid.sensitive.RenderMetrics}. If none is found, {@link #NONE} is installed,
+ * and since the choice is a constant the just-in-time compiler removes instrumentation entirely.
+ * </p>
+ * <p>
+ * Implementations are called on every rendition, from any thread, and must be fast and thread-safe.
+ * {@link InMemoryRenderMetrics} is a simple in-memory implementation.
+ * </p>
+ */
+public interface RenderMetrics {
+
+    /**
+     * How a value was rendered.
+     */
+    enum Path {
+        /** {@link Sensitive#toString()}. */
+        TO_STRING,
+        /**
+         * {@link Sensitive#formatTo(java.util.Formatter, int, int, int)}, as from {@code String.format} or
+         * {@link SensitiveBatch}.
+         */
+        FORMAT,
+        /** Directly into an {@code Appendable} without a {@code Formatter}, as by {@link RedactingMessageFormatter}. */
+        APPEND
+    }
+
+    /**
+     * Implementation that records nothing.
+     */
+    RenderMetrics NONE = (type, path, alternate, precision, nanos) -> {
+    };
+
+    /**
+     * The implementation in use.
+     */
+    RenderMetrics INSTALLED = ServiceLoader.load(RenderMetrics.class, RenderMetrics.class.getClassLoader())
+            .findFirst()
+            .orElse(NONE);
+
+    /**
+     * Indicates whether to time the next rendition. Called once before each rendition. The default is {@code false}.
+     *
+     * @return {@code true} to time the next rendition.
+     */
+    default boolean sample() {
+        return false;
+    }
+
+    /**
+     * Records a rendition.
+     *
+     * @param type      the class of the rendered value.
+     * @param path      how the value was rendered.
+     * @param alternate whether the {@link Sensitive#alternate() alternate} redactor was used.
+     * @param precision the requested precision, or {@code -1} for none.
+     * @param nanos     the time taken in nanoseconds if {@link #sample() sampled}, otherwise {@code -1}.
+     */
+    void rendered(Class<?> type, Path path, boolean alternate, int precision, long nanos);
+}
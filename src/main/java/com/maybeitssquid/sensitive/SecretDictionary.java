@@ -0,0 +1,403 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionary of known secrets that finds and redacts every occurrence of them in free text.
+ * <p>
+ * Entries are compiled into an Aho-Corasick automaton held in primitive arrays, so text is scanned in a single pass
+ * regardless of the number of entries. Each occurrence is replaced by the rendition of the matching entry's
+ * {@link Sensitive#redactor() redactor} at the dictionary's precision. Where occurrences overlap, the earliest one is
+ * rendered in full and the rest of each later occurrence is rendered from the end of its own rendition, so no
+ * character of any entry is copied unchanged.
+ * </p>
+ * <p>
+ * Changes to the dictionary compile a new automaton and publish it atomically. Scans in progress continue with the
+ * automaton they started with, so entries can be added or removed while other threads are scanning. Compiling takes
+ * time proportional to the total length of all entries, so add many entries with {@link #addAll(Collection)} rather
+ * than one at a time.
+ * </p>
+ */
+public class SecretDictionary implements TextScanner {
+
+    /** Number of characters read at a time. */
+    private static final int BLOCK = 8192;
+
+    private final int precision;
+
+    private final Set<Sensitive<? extends CharSequence>> entries = new LinkedHashSet<>();
+
+    private volatile Automaton automaton = Automaton.EMPTY;
+
+    /**
+     * Creates an empty dictionary.
+     *
+     * @param precision the precision passed to each entry's redactor.
+     */
+    public SecretDictionary(final int precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Creates an empty dictionary that renders entries with no precision, as {@link Sensitive#toString()} does.
+     */
+    public SecretDictionary() {
+        this(-1);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the secret to find.
+     * @return {@code true} if the dictionary did not already contain the entry.
+     */
+    public synchronized boolean add(final Sensitive<? extends CharSequence> entry) {
+        if (!entries.add(entry)) return false;
+        compile();
+        return true;
+    }
+
+    /**
+     * Adds many entries, compiling the automaton once.
+     *
+     * @param entries the secrets to find.
+     * @return {@code true} if the dictionary changed.
+     */
+    public synchronized boolean addAll(final Collection<? extends Sensitive<? extends CharSequence>> entries) {
+        if (!this.entries.addAll(entries)) return false;
+        compile();
+        return true;
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the secret to stop finding.
+     * @return {@code true} if the dictionary contained the entry.
+     */
+    public synchronized boolean remove(final Sensitive<? extends CharSequence> entry) {
+        if (!entries.remove(entry)) return false;
+        compile();
+        return true;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void compile() {
+        this.automaton = new Automaton(entries, precision);
+    }
+
+    /**
+     * Copies text to a destination, redacting every entry found.
+     *
+     * @param in  the text to scan.
+     * @param out the destination.
+     * @throws IOException if the destination throws.
+     */
+    @Override
+    public void scan(final CharSequence in, final Appendable out) throws IOException {
+        final Session session = new Session(automaton, out);
+        session.scan(in);
+        session.finish();
+    }
+
+    /**
+     * Copies text from a reader to a destination, redacting every entry found. Only characters that may still be
+     * part of an entry are held between reads.
+     *
+     * @param in  the text to scan.
+     * @param out the destination.
+     * @throws IOException if the reader or destination throws.
+     */
+    public void scan(final Reader in, final Appendable out) throws IOException {
+        final Session session = new Session(automaton, out);
+        final CharBuffer block = CharBuffer.allocate(BLOCK);
+        while (in.read(block.clear()) >= 0) {
+            block.flip();
+            session.scan(block);
+        }
+        session.finish();
+    }
+
+    private static <T extends CharSequence> String render(final Sensitive<T> entry, final int precision) {
+        return Redactor.of(entry.redactor()).redact(entry.sensitive, precision).toString();
+    }
+
+    /**
+     * Immutable Aho-Corasick automaton. Node 0 is the root. The outgoing edges of node {@code n} are at indexes
+     * {@code first[n]} to {@code first[n + 1]} of {@code labels} and {@code targets}, sorted by label.
+     */
+    private static final class Automaton {
+        static final Automaton EMPTY = new Automaton(Set.of(), -1);
+
+        private final int[] first;
+        private final char[] labels;
+        private final int[] targets;
+
+        /** Root transitions for ASCII characters, or 0 for none. */
+        private final int[] ascii = new int[128];
+
+        private final int[] fail;
+
+        /** Length of the string spelled by each node. */
+        private final int[] depth;
+
+        /** Longest entry ending at each node, or -1 for none. */
+        private final int[] match;
+
+        /** Length of each entry. */
+        private final int[] lengths;
+
+        /** Redacted rendition of each entry. */
+        private final String[] renditions;
+
+        Automaton(final Collection<? extends Sensitive<? extends CharSequence>> entries, final int precision) {
+            // Build the trie with hashed edges, then pack it
+            final Map<Long, Integer> edges = new HashMap<>();
+            int[] depth = new int[16];
+            int[] terminal = new int[16];
+            Arrays.fill(terminal, -1);
+            int nodes = 1;
+            this.lengths = new int[entries.size()];
+            this.renditions = new String[entries.size()];
+            int index = 0;
+            for (final Sensitive<? extends CharSequence> entry : entries) {
+                final CharSequence secret = entry.sensitive;
+                if (secret.length() == 0) continue;
+                int node = 0;
+                for (int i = 0; i < secret.length(); i++) {
+                    final long key = (long) node << 16 | secret.charAt(i);
+                    Integer child = edges.get(key);
+                    if (child == null) {
+                        if (nodes == depth.length) {
+                            depth = Arrays.copyOf(depth, nodes * 2);
+                            terminal = Arrays.copyOf(terminal, nodes * 2);
+                            Arrays.fill(terminal, nodes, nodes * 2, -1);
+                        }
+                        depth[nodes] = i + 1;
+                        child = nodes++;
+                        edges.put(key, child);
+                    }
+                    node = child;
+                }
+                terminal[node] = index;
+                lengths[index] = secret.length();
+                renditions[index] = render(entry, precision);
+                index++;
+            }
+
+            this.first = new int[nodes + 1];
+            for (final long key : edges.keySet()) first[(int) (key >>> 16) + 1]++;
+            for (int n = 0; n < nodes; n++) first[n + 1] += first[n];
+            this.labels = new char[edges.size()];
+            this.targets = new int[edges.size()];
+            final int[] filled = Arrays.copyOf(first, nodes);
+            for (final Map.Entry<Long, Integer> edge : edges.entrySet()) {
+                final int at = filled[(int) (edge.getKey() >>> 16)]++;
+                labels[at] = (char) (long) edge.getKey();
+                targets[at] = edge.getValue();
+            }
+            for (int n = 0; n < nodes; n++) sort(first[n], first[n + 1]);
+            for (int e = first[0]; e < first[1]; e++) if (labels[e] < 128) ascii[labels[e]] = targets[e];
+
+            // Breadth-first order so that each node's failure link is computed before its children's
+            this.depth = Arrays.copyOf(depth, nodes);
+            this.fail = new int[nodes];
+            this.match = new int[nodes];
+            match[0] = -1;
+            final int[] queue = new int[nodes];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = 0;
+            while (head < tail) {
+                final int node = queue[head++];
+                for (int e = first[node]; e < first[node + 1]; e++) {
+                    final int child = targets[e];
+                    if (node != 0) {
+                        int f = fail[node];
+                        int next;
+                        while ((next = child(f, labels[e])) < 0 && f != 0) f = fail[f];
+                        fail[child] = Math.max(next, 0);
+                    }
+                    match[child] = terminal[child] >= 0 ? terminal[child] : match[fail[child]];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        private void sort(final int from, final int to) {
+            for (int i = from + 1; i < to; i++) {
+                final char label = labels[i];
+                final int target = targets[i];
+                int j = i - 1;
+                while (j >= from && labels[j] > label) {
+                    labels[j + 1] = labels[j];
+                    targets[j + 1] = targets[j];
+                    j--;
+                }
+                labels[j + 1] = label;
+                targets[j + 1] = target;
+            }
+        }
+
+        /**
+         * Follows an edge.
+         *
+         * @return the child, or -1 if there is no edge for the character.
+         */
+        private int child(final int node, final char c) {
+            if (node == 0 && c < 128) {
+                final int child = ascii[c];
+                return child == 0 ? -1 : child;
+            }
+            int low = first[node];
+            int high = first[node + 1] - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char label = labels[mid];
+                if (label < c) {
+                    low = mid + 1;
+                } else if (label > c) {
+                    high = mid - 1;
+                } else {
+                    return targets[mid];
+                }
+            }
+            return -1;
+        }
+
+        int next(int node, final char c) {
+            int child;
+            while ((child = child(node, c)) < 0) {
+                if (node == 0) return 0;
+                node = fail[node];
+            }
+            return child;
+        }
+    }
+
+    /**
+     * Redacted range of the input awaiting output.
+     */
+    private static final class Region {
+        final long start;
+        long end;
+        final StringBuilder rendition;
+
+        Region(final long start, final long end, final CharSequence rendition) {
+            this.start = start;
+            this.end = end;
+            this.rendition = new StringBuilder(rendition);
+        }
+    }
+
+    /**
+     * State of one pass over the input. Positions are counted from the start of the input.
+     */
+    private static final class Session {
+        private final Automaton automaton;
+        private final Appendable out;
+
+        /** Disjoint redacted ranges in order. */
+        private final ArrayDeque<Region> regions = new ArrayDeque<>();
+
+        /** Input held from previous blocks, starting at {@link #written}. */
+        private StringBuilder held = new StringBuilder();
+
+        /** Position up to which input has been written or replaced. */
+        private long written;
+
+        /** Position of the start of the current block. */
+        private long base;
+
+        private int node;
+
+        Session(final Automaton automaton, final Appendable out) {
+            this.automaton = automaton;
+            this.out = out;
+        }
+
+        void scan(final CharSequence block) throws IOException {
+            final Automaton a = this.automaton;
+            final int length = block.length();
+            int node = this.node;
+            for (int i = 0; i < length; i++) {
+                node = a.next(node, block.charAt(i));
+                final long end = base + i + 1;
+                final int entry = a.match[node];
+                if (entry >= 0) found(end - a.lengths[entry], end, a.renditions[entry]);
+                if (!regions.isEmpty()) {
+                    final long safe = end - a.depth[node];
+                    while (!regions.isEmpty() && regions.peekFirst().end <= safe) emit(regions.pollFirst(), block);
+                }
+            }
+            this.node = node;
+
+            // Write whatever can no longer be part of an entry, and hold the rest
+            final long end = base + length;
+            long safe = end - a.depth[node];
+            if (!regions.isEmpty()) safe = Math.min(safe, regions.peekFirst().start);
+            copy(safe, block);
+            final StringBuilder remaining = new StringBuilder((int) (end - written));
+            append(remaining, written, end, block);
+            this.held = remaining;
+            this.base = end;
+        }
+
+        void finish() throws IOException {
+            while (!regions.isEmpty()) emit(regions.pollFirst(), "");
+            copy(base, "");
+        }
+
+        private void found(final long start, final long end, final String rendition) {
+            Region merged = null;
+            while (!regions.isEmpty() && regions.peekLast().end > start) merged = regions.pollLast();
+            if (merged == null || start <= merged.start) {
+                regions.addLast(new Region(start, end, rendition));
+            } else {
+                // Continue the earlier rendition with the end of this one
+                final int extra = (int) Math.min(end - merged.end, rendition.length());
+                merged.rendition.append(rendition, rendition.length() - extra, rendition.length());
+                merged.end = end;
+                regions.addLast(merged);
+            }
+        }
+
+        private void emit(final Region region, final CharSequence block) throws IOException {
+            copy(region.start, block);
+            out.append(region.rendition);
+            written = region.end;
+        }
+
+        /** Writes input from {@link #written} to a position. */
+        private void copy(final long to, final CharSequence block) throws IOException {
+            if (to <= written) return;
+            append(out, written, to, block);
+            written = to;
+        }
+
+        /** Appends input between two positions, which may span the held input and the current block. */
+        private void append(final Appendable dest, final long from, final long to, final CharSequence block)
+                throws IOException {
+            final long heldStart = base - held.length();
+            if (from < base) dest.append(held, (int) (from - heldStart), (int) (Math.min(to, base) - heldStart));
+            if (to > base) dest.append(block, (int) (Math.max(from, base) - base), (int) (to - base));
+        }
+    }
+}
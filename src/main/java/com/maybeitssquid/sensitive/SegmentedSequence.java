@@ -0,0 +1,99 @@
+package com.maybeitssquid.sensitive;
+
+/**
+ * A read-only view of an array of character sequences joined by a delimiter. The joined text is never built: the
+ * length is computed from the segment lengths, and characters are read from the segments on demand, so a redactor
+ * that masks most of the view only reads the characters it exposes. Changes to the underlying segments after the view
+ * is created are not reflected in its length.
+ */
+final class SegmentedSequence implements CharSequence {
+
+    private final CharSequence[] segments;
+
+    private final CharSequence delimiter;
+
+    /** Offset of each segment in the joined text. */
+    private final int[] starts;
+
+    private final int length;
+
+    SegmentedSequence(final CharSequence[] segments, final CharSequence delimiter) {
+        this.segments = segments;
+        this.delimiter = delimiter;
+        this.starts = new int[segments.length];
+        final int delimiterLength = delimiter.length();
+        int offset = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) offset += delimiterLength;
+            starts[i] = offset;
+            offset += segments[i].length();
+        }
+        this.length = offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        final int segment = segment(index);
+        final int offset = index - starts[segment];
+        final int segmentLength = segments[segment].length();
+        return offset < segmentLength ? segments[segment].charAt(offset) : delimiter.charAt(offset - segmentLength);
+    }
+
+    /**
+     * Finds the segment containing an index, or whose trailing delimiter contains it.
+     */
+    private int segment(final int index) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return appendTo(new StringBuilder(end - start), start, end).toString();
+    }
+
+    /**
+     * Appends a range of the joined text, copying from each segment and delimiter in bulk.
+     */
+    private StringBuilder appendTo(final StringBuilder buffer, final int start, final int end) {
+        if (start == end) return buffer;
+        final int delimiterLength = delimiter.length();
+        for (int i = segment(start); i < segments.length; i++) {
+            final int segmentStart = starts[i];
+            if (i > 0 && segmentStart > start) {
+                final int delimiterStart = segmentStart - delimiterLength;
+                if (delimiterStart >= end) break;
+                buffer.append(delimiter, Math.max(0, start - delimiterStart), Math.min(delimiterLength, end - delimiterStart));
+            }
+            if (segmentStart >= end) break;
+            final int segmentEnd = segmentStart + segments[i].length();
+            if (segmentEnd > start) {
+                buffer.append(segments[i], Math.max(0, start - segmentStart), Math.min(segmentEnd, end) - segmentStart);
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(length), 0, length).toString();
+    }
+}
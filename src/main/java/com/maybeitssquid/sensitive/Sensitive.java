@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Formattable;
 import java.util.FormattableFlags;
 import java.util.Formatter;
+import java.util.Locale;
 import java.util.function.BiFunction;
 
 /**
@@ -17,9 +18,31 @@ import java.util.function.BiFunction;
  */
 public class Sensitive<T> implements Formattable {
 
+    /** Whether each class uses the standard {@link #formatTo(Formatter, int, int, int)}, enabling fast {@link #toString()}. */
+    private static final ClassValue<Boolean> STANDARD_FORMAT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("formatTo", Formatter.class, int.class, int.class, int.class)
+                        .getDeclaringClass() == Sensitive.class;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /** The data being protected. */
     final protected transient T sensitive;
 
+    /** Most recent renditions, if {@link #memoize() memoizing}. */
+    private transient Renditions renditions;
+
+    /** Cached {@link #keyed() keyed} hash, or 0 if not yet computed. */
+    private transient int hash;
+
+    /** Whether the cached keyed hash has been computed as 0. */
+    private transient boolean hashIsZero;
+
     /**
      * Creates a wrapper for a sensitive object.
      *
@@ -48,62 +71,212 @@ public class Sensitive<T> implements Formattable {
         return redactor();
     }
 
+    /**
+     * Indicates whether redacted renditions of this value should be remembered and reused. When enabled, the two most
+     * recently used renditions are kept, keyed by the alternate flag and precision, so that repeated rendering of the
+     * same value skips the redactor. Enable this only if the protected data is immutable. The default is
+     * {@code false}.
+     *
+     * @return {@code true} to memoize renditions.
+     */
+    protected boolean memoize() {
+        return false;
+    }
+
+    /**
+     * Indicates whether {@link #hashCode()} and {@link #equals(Object)} use a keyed hash and constant-time comparison.
+     * When enabled, the hash is SipHash with a random key chosen once per JVM, so values chosen by an attacker cannot
+     * be made to collide in hash tables, and the hash is computed once and cached. Equality compares the whole value
+     * regardless of where it differs, so the time taken does not reveal how much of a guess was right. Character
+     * sequences are compared by content. A keyed value is never equal to one that is not keyed, since their hashes
+     * differ. Enable this only if the protected data is immutable. The default is {@code false}.
+     *
+     * @return {@code true} to use keyed hashing and constant-time comparison.
+     */
+    protected boolean keyed() {
+        return false;
+    }
+
+    /**
+     * Gets the budget that limits how often this value is rendered with exposed characters. Whenever the value is
+     * rendered at a precision, or with no precision, at which its redactor {@link Redactor#exposes(Object, int) may
+     * expose} characters, and the budget is spent, the precision is reduced to 0. Redactors are asked rather than
+     * rendered, so plain {@code BiFunction} redactors are charged for every rendition other than at precision 0. The
+     * default is {@code null}, for no limit.
+     *
+     * @return the exposure budget, or {@code null} for none.
+     */
+    protected ExposureBudget budget() {
+        return null;
+    }
+
+    /**
+     * Renders the redacted data directly into the formatter's destination. Padding, masking and exposed characters are
+     * written straight to {@link Formatter#out()} without intermediate buffers when the redactor can report the
+     * {@link Redactor#redactedLength(Object, int) length} of its rendition. Plain {@code BiFunction} redactors are
+     * {@link Redactor#of(BiFunction) adapted} and rendered once before padding. {@link #memoize() Memoized} renditions
+     * are written from the cache. Each rendition is reported to the {@link RenderMetrics#INSTALLED installed}
+     * {@link RenderMetrics}, if any.
+     *
+     * @param formatter {@inheritDoc}
+     * @param flags     {@inheritDoc}
+     * @param width     {@inheritDoc}
+     * @param precision {@inheritDoc}
+     */
     @Override
     public void formatTo(Formatter formatter, int flags, int width, int precision) {
+        try {
+            render(RenderMetrics.Path.FORMAT, formatter.out(), formatter.locale(), flags, width, precision);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Appends the formatted, redacted form of a value to a destination without creating a {@link Formatter}, unless
+     * the value's class overrides {@link #formatTo(Formatter, int, int, int)}.
+     *
+     * @param value     the value to render.
+     * @param out       the destination.
+     * @param locale    the locale used for upper-casing.
+     * @param flags     the {@link FormattableFlags}.
+     * @param width     the minimum width, or {@code -1} for none.
+     * @param precision the precision, or {@code -1} for none.
+     * @throws IOException if the destination throws.
+     */
+    static void appendTo(final Sensitive<?> value, final Appendable out, final Locale locale,
+                         final int flags, final int width, final int precision) throws IOException {
+        if (STANDARD_FORMAT.get(value.getClass())) {
+            value.render(RenderMetrics.Path.APPEND, out, locale, flags, width, precision);
+        } else {
+            value.formatTo(new Formatter(out, locale), flags, width, precision);
+        }
+    }
+
+    private void render(final RenderMetrics.Path path, final Appendable out, final Locale locale,
+                        final int flags, final int width, final int precision) throws IOException {
+        final RenderMetrics metrics = RenderMetrics.INSTALLED;
+        if (metrics == RenderMetrics.NONE) {
+            render(out, locale, flags, width, precision);
+            return;
+        }
+        final boolean sampled = metrics.sample();
+        final long started = sampled ? System.nanoTime() : 0;
+        render(out, locale, flags, width, precision);
+        metrics.rendered(getClass(), path, (flags & FormattableFlags.ALTERNATE) == FormattableFlags.ALTERNATE,
+                precision, sampled ? System.nanoTime() - started : -1);
+    }
+
+    private void render(final Appendable out, final Locale locale,
+                        final int flags, final int width, final int requested) throws IOException {
         final boolean alternate = (flags & FormattableFlags.ALTERNATE) == FormattableFlags.ALTERNATE;
+        final int precision = allowed(requested, alternate);
         final boolean upper = ((flags & FormattableFlags.UPPERCASE) == FormattableFlags.UPPERCASE);
         final boolean left = ((flags & FormattableFlags.LEFT_JUSTIFY) == FormattableFlags.LEFT_JUSTIFY);
 
-        final StringBuilder buffer;
-        if (alternate) {
-            buffer = new StringBuilder(alternate().apply(this.sensitive, precision));
+        if (memoize()) {
+            write(out, locale, rendition(alternate, precision), upper, left, width);
+            return;
+        }
+        final Redactor<T> redactor = Redactor.of(alternate ? alternate() : redactor());
+        // Upper-casing can change the length of non-ASCII text, so padded upper-case output is rendered first
+        final int length = width > 0 && !upper ? redactor.redactedLength(this.sensitive, precision) : 0;
+        if (width > 0 && (upper || length < 0)) {
+            write(out, locale, redactor.redact(this.sensitive, precision), upper, left, width);
         } else {
-            buffer = new StringBuilder(redactor().apply(this.sensitive, precision));
+            final int pad = width - length;
+            if (!left) pad(out, pad);
+            redactor.redactTo(upper ? new UpperCaseAppendable(out, locale) : out, this.sensitive, precision);
+            if (left) pad(out, pad);
         }
+    }
 
-        if (upper) {
-            buffer.replace(0, buffer.length(), buffer.toString().toUpperCase(formatter.locale()));
-        }
+    /**
+     * Reduces a precision to 0 if the {@link #budget() budget} is spent and the redactor
+     * {@link Redactor#exposes(Object, int) may expose} characters at that precision, including its default.
+     */
+    private int allowed(final int precision, final boolean alternate) {
+        if (precision == 0) return 0;
+        final ExposureBudget budget = budget();
+        if (budget == null) return precision;
+        if (!Redactor.of(alternate ? alternate() : redactor()).exposes(this.sensitive, precision)) return precision;
+        return budget.tryExpose(this) ? precision : 0;
+    }
 
-        final int pad = width - buffer.length();
-        if (pad > 0) {
-            if (left) {
-                buffer.append(" ".repeat(pad));
-            } else {
-                buffer.insert(0, " ".repeat(pad));
-            }
+    private String rendition(final boolean alternate, final int precision) {
+        // Widened, so that no two precisions share a key
+        final long key = (long) precision << 1 | (alternate ? 1 : 0);
+        final Renditions current = this.renditions;
+        String value = current == null ? null : current.get(key);
+        if (value == null) {
+            value = Redactor.of(alternate ? alternate() : redactor()).redact(this.sensitive, precision).toString();
+            this.renditions = new Renditions(key, value, current);
         }
+        return value;
+    }
 
-        try {
-            formatter.out().append(buffer);
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
-        }
+    private static void write(final Appendable out, final Locale locale, CharSequence rendered,
+                              final boolean upper, final boolean left, final int width) throws IOException {
+        if (upper && width > 0) rendered = rendered.toString().toUpperCase(locale);
+        final int pad = width - rendered.length();
+        if (!left) pad(out, pad);
+        (upper && width <= 0 ? new UpperCaseAppendable(out, locale) : out).append(rendered);
+        if (left) pad(out, pad);
+    }
+
+    private static void pad(final Appendable out, final int pad) throws IOException {
+        for (int i = 0; i < pad; i++) out.append(' ');
     }
 
     /**
      * Returns the result of applying default string formatting to this value. Equivalent to
-     * {@code String.format("%s", this)}.
+     * {@code String.format("%s", this)}. Unless a subclass overrides {@link #formatTo(Formatter, int, int, int)}, the
+     * default redactor is applied directly with no precision, without creating a {@link Formatter}.
      *
      * @return the result of applying default string formatting to this value.
      */
     @Override
     public final String toString() {
-        return String.format("%s", this);
+        if (!STANDARD_FORMAT.get(getClass())) return String.format("%s", this);
+        final RenderMetrics metrics = RenderMetrics.INSTALLED;
+        if (metrics == RenderMetrics.NONE) return render();
+        final boolean sampled = metrics.sample();
+        final long started = sampled ? System.nanoTime() : 0;
+        final String rendered = render();
+        metrics.rendered(getClass(), RenderMetrics.Path.TO_STRING, false, -1,
+                sampled ? System.nanoTime() - started : -1);
+        return rendered;
+    }
+
+    private String render() {
+        final int precision = allowed(-1, false);
+        if (memoize()) return rendition(false, precision);
+        return Redactor.of(redactor()).redact(this.sensitive, precision).toString();
     }
 
     /**
-     * Returns the hash of the enclosed sensitive data.
+     * Returns the hash of the enclosed sensitive data, or its cached {@link #keyed() keyed} hash.
      *
      * @return the hash of the enclosed sensitive data.
      */
     @Override
     public int hashCode() {
-        return sensitive.hashCode();
+        if (!keyed()) return sensitive.hashCode();
+        int h = this.hash;
+        if (h == 0 && !this.hashIsZero) {
+            h = KeyedHash.hashCode(this.sensitive);
+            if (h == 0) {
+                this.hashIsZero = true;
+            } else {
+                this.hash = h;
+            }
+        }
+        return h;
     }
 
     /**
-     * Returns true if the types match and the enclosed sensitive data are equal.
+     * Returns true if the types match, both or neither are {@link #keyed() keyed}, and the enclosed sensitive data are
+     * equal, compared in constant time if keyed.
      *
      * @param o {@inheritDoc}
      * @return if the types match and the enclosed sensitive data are equal.
@@ -112,7 +285,33 @@ public class Sensitive<T> implements Formattable {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
+        final boolean keyed = keyed();
+        if (keyed != ((Sensitive<?>) o).keyed()) return false;
+        if (keyed) return KeyedHash.equals(this.sensitive, ((Sensitive<?>) o).sensitive);
         return this.sensitive.equals(((Sensitive<?>) o).sensitive);
     }
 
+    /**
+     * Immutable pair of memoized renditions. Instances are replaced rather than modified, and all fields are final,
+     * so they can be shared between threads without synchronization.
+     */
+    private static final class Renditions {
+        private final long key0;
+        private final String value0;
+        private final long key1;
+        private final String value1;
+
+        Renditions(final long key, final String value, final Renditions previous) {
+            this.key0 = key;
+            this.value0 = value;
+            this.key1 = previous == null ? 0 : previous.key0;
+            this.value1 = previous == null ? null : previous.value0;
+        }
+
+        String get(final long key) {
+            if (key == key0) return value0;
+            if (key == key1) return value1;
+            return null;
+        }
+    }
 }
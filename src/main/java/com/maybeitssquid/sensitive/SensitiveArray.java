@@ -1,6 +1,8 @@
 package com.maybeitssquid.sensitive;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
@@ -74,27 +76,94 @@ public class SensitiveArray<T> extends Sensitive<T[]> {
      */
     public static <T> Function<T[], CharSequence> delimit(final CharSequence delimiter, final Function<T, CharSequence> extractor) {
         return (t) -> {
-            final StringBuilder buffer = new StringBuilder();
-            buffer.append(extractor.apply(t[0]));
-            for (int i = 1; i < t.length; i++) buffer.append(delimiter).append(extractor.apply(t[i]));
+            final CharSequence[] extracted = new CharSequence[t.length];
+            int length = Math.max(0, t.length - 1) * delimiter.length();
+            for (int i = 0; i < t.length; i++) length += (extracted[i] = extractor.apply(t[i])).length();
+            final StringBuilder buffer = new StringBuilder(length);
+            for (int i = 0; i < extracted.length; i++) {
+                if (i > 0) buffer.append(delimiter);
+                buffer.append(extracted[i]);
+            }
             return buffer.toString();
         };
     }
 
+    /**
+     * Returns a redactor for an array of protected character sequences that applies another redactor to the delimited
+     * sequence without building it. The redactor sees a view whose length is computed from the segment lengths and
+     * whose characters are read from the segments on demand, so the plaintext is never joined and a masking redactor
+     * reads only the characters it exposes.
+     *
+     * @param delimiter delimiter between each element of the protected array.
+     * @param after     the redactor to apply to the delimited sequence.
+     * @return redactor for the array.
+     */
+    public static Redactor<CharSequence[]> segmented(final CharSequence delimiter, final BiFunction<CharSequence, Integer, CharSequence> after) {
+        final Redactor<CharSequence> redactor = Redactor.of(after);
+        return new AbstractRedactor<>() {
+            @Override
+            public CharSequence redact(final CharSequence[] t, final int p) {
+                return redactor.redact(new SegmentedSequence(t, delimiter), p);
+            }
+
+            @Override
+            public int redactedLength(final CharSequence[] t, final int precision) {
+                return redactor.redactedLength(new SegmentedSequence(t, delimiter), precision);
+            }
+
+            @Override
+            public boolean exposes(final CharSequence[] t, final int precision) {
+                return redactor.exposes(new SegmentedSequence(t, delimiter), precision);
+            }
+
+            @Override
+            public void redactTo(final Appendable out, final CharSequence[] t, final int precision) throws IOException {
+                redactor.redactTo(out, new SegmentedSequence(t, delimiter), precision);
+            }
+        };
+    }
+
+    /**
+     * Returns a redactor for an array of protected character sequences that applies another redactor to the delimited
+     * sequence without building it.
+     *
+     * @param delimiter delimiter between each element of the protected array.
+     * @param after     the redactor to apply to the delimited sequence.
+     * @return redactor for the array.
+     * @see #segmented(CharSequence, BiFunction)
+     */
+    public static Redactor<CharSequence[]> segmented(final char delimiter, final BiFunction<CharSequence, Integer, CharSequence> after) {
+        return segmented(String.valueOf(delimiter), after);
+    }
+
+    /**
+     * Returns a redactor for an array of protected character sequences that applies another redactor to the sequence
+     * delimited by {@link #DEFAULT_DELIMITER} without building it.
+     *
+     * @param after the redactor to apply to the delimited sequence.
+     * @return redactor for the array.
+     * @see #segmented(CharSequence, BiFunction)
+     */
+    public static Redactor<CharSequence[]> segmented(final BiFunction<CharSequence, Integer, CharSequence> after) {
+        return segmented(String.valueOf(DEFAULT_DELIMITER), after);
+    }
+
     /**
      * Returns the hash of the enclosed {@code raw} data as generated by invoking {@link Arrays#hashCode(Object[])}
-     * on the contained raw data.
+     * on the contained raw data, or its cached {@link #keyed() keyed} hash.
      *
      * @return {@inheritDoc}
      */
     @Override
     public int hashCode() {
+        if (keyed()) return super.hashCode();
         return Arrays.hashCode(this.sensitive);
     }
 
     /**
      * Returns true if the types match and the enclosed raw data are equal as indicated by invoking
-     * {@link Arrays#equals(Object[], Object[])}.
+     * {@link Arrays#equals(Object[], Object[])}, or by comparing each element in constant time if {@link #keyed()
+     * keyed}.
      *
      * @param o {@inheritDoc}
      * @return {@inheritDoc}
@@ -103,6 +172,7 @@ public class SensitiveArray<T> extends Sensitive<T[]> {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
+        if (keyed() || ((Sensitive<?>) o).keyed()) return super.equals(o);
         return Arrays.equals(sensitive, ((SensitiveArray<?>) o).sensitive);
     }
 }
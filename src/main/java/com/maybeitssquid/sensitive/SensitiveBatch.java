@@ -0,0 +1,159 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * Renders many {@link Sensitive} values into a single {@link Appendable}, separated by a delimiter, with the same
+ * flags, width and precision applied to each. Rendering calls {@link Sensitive#formatTo(Formatter, int, int, int)}
+ * directly through one {@link Formatter} per batch, so no format string is parsed and no {@code String} is created
+ * per value. Output is collected in a single reused scratch buffer and written to the destination in blocks.
+ * <p>
+ * {@link #writeParallel(Appendable, List) Parallel} rendering splits a list into chunks rendered on the common
+ * fork-join pool and writes them in the original order.
+ * </p>
+ */
+public class SensitiveBatch {
+
+    /** Size of the scratch buffer at which it is flushed to the destination. */
+    private static final int FLUSH = 8192;
+
+    /** Number of values rendered by each parallel task. */
+    private static final int CHUNK = 4096;
+
+    private final CharSequence separator;
+
+    private final Locale locale;
+
+    private final int flags;
+
+    private final int width;
+
+    private final int precision;
+
+    /**
+     * Creates a batch renderer.
+     *
+     * @param separator text written between values.
+     * @param locale    the locale used for upper-casing, as in {@link Formatter#locale()}.
+     * @param flags     the {@link java.util.FormattableFlags} applied to each value.
+     * @param width     the minimum width of each value, or {@code -1} for none.
+     * @param precision the precision applied to each value, or {@code -1} for none.
+     */
+    public SensitiveBatch(final CharSequence separator, final Locale locale, final int flags, final int width, final int precision) {
+        this.separator = separator;
+        this.locale = locale;
+        this.flags = flags;
+        this.width = width;
+        this.precision = precision;
+    }
+
+    /**
+     * Creates a batch renderer using the default format locale.
+     *
+     * @param separator text written between values.
+     * @param flags     the {@link java.util.FormattableFlags} applied to each value.
+     * @param width     the minimum width of each value, or {@code -1} for none.
+     * @param precision the precision applied to each value, or {@code -1} for none.
+     */
+    public SensitiveBatch(final CharSequence separator, final int flags, final int width, final int precision) {
+        this(separator, Locale.getDefault(Locale.Category.FORMAT), flags, width, precision);
+    }
+
+    /**
+     * Creates a batch renderer with default formatting, equivalent to {@code %s} for each value.
+     *
+     * @param separator text written between values.
+     */
+    public SensitiveBatch(final CharSequence separator) {
+        this(separator, 0, -1, -1);
+    }
+
+    /**
+     * Writes the redacted form of each value.
+     *
+     * @param out    the destination.
+     * @param values the values to render.
+     * @throws IOException if the destination throws.
+     */
+    public void write(final Appendable out, final Iterable<? extends Sensitive<?>> values) throws IOException {
+        write(out, values.iterator());
+    }
+
+    /**
+     * Writes the redacted form of each value.
+     *
+     * @param out    the destination.
+     * @param values the values to render.
+     * @throws IOException if the destination throws.
+     */
+    public void write(final Appendable out, final Sensitive<?>... values) throws IOException {
+        write(out, Arrays.asList(values));
+    }
+
+    /**
+     * Writes the redacted form of each value, in encounter order.
+     *
+     * @param out    the destination.
+     * @param values the values to render.
+     * @throws IOException if the destination throws.
+     */
+    public void write(final Appendable out, final Stream<? extends Sensitive<?>> values) throws IOException {
+        write(out, values.sequential().iterator());
+    }
+
+    private void write(final Appendable out, final Iterator<? extends Sensitive<?>> values) throws IOException {
+        final StringBuilder scratch = new StringBuilder(FLUSH + 256);
+        final Formatter formatter = new Formatter(scratch, locale);
+        for (boolean first = true; values.hasNext(); first = false) {
+            if (!first) scratch.append(separator);
+            values.next().formatTo(formatter, flags, width, precision);
+            if (scratch.length() >= FLUSH) {
+                out.append(scratch);
+                scratch.setLength(0);
+            }
+        }
+        out.append(scratch);
+    }
+
+    /**
+     * Writes the redacted form of each value, rendering chunks of the list in parallel on the common fork-join pool.
+     * The output is identical to {@link #write(Appendable, Iterable)}. To bound memory, only a few chunks per worker
+     * are rendered ahead of the output.
+     *
+     * @param out    the destination.
+     * @param values the values to render.
+     * @throws IOException if the destination throws.
+     */
+    public void writeParallel(final Appendable out, final List<? extends Sensitive<?>> values) throws IOException {
+        final int window = 4 * ForkJoinPool.getCommonPoolParallelism() * CHUNK;
+        for (int start = 0; start < values.size(); start += window) {
+            final List<ForkJoinTask<StringBuilder>> tasks = new ArrayList<>();
+            final int end = Math.min(values.size(), start + window);
+            for (int from = start; from < end; from += CHUNK) {
+                final List<? extends Sensitive<?>> chunk = values.subList(from, Math.min(end, from + CHUNK));
+                final boolean first = from == 0;
+                tasks.add(ForkJoinPool.commonPool().submit(() -> render(chunk, first)));
+            }
+            for (final ForkJoinTask<StringBuilder> task : tasks) out.append(task.join());
+        }
+    }
+
+    private StringBuilder render(final List<? extends Sensitive<?>> chunk, final boolean first) {
+        final StringBuilder buffer = new StringBuilder();
+        final Formatter formatter = new Formatter(buffer, locale);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0 || !first) buffer.append(separator);
+            chunk.get(i).formatTo(formatter, flags, width, precision);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,112 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@link Sensitive} value backed by a {@code byte[]}, for secrets such as keys and binary tokens. {@link #close()
+ * Closing} the value zeroes the array, so the secret can be erased deterministically rather than waiting for garbage
+ * collection. The array is not copied, so the caller should not retain other references to it.
+ */
+public class SensitiveByteArray extends Sensitive<byte[]> implements AutoCloseable {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Creates a wrapper for a sensitive byte array.
+     *
+     * @param sensitive the array to protect.
+     */
+    protected SensitiveByteArray(final byte[] sensitive) {
+        super(sensitive);
+    }
+
+    /**
+     * Returns a function that renders the array as lowercase hexadecimal, two characters per byte, and replaces all
+     * but <em>precision</em> hexadecimal characters at the end with a masking character. Digits are computed directly
+     * from the array, and only for exposed characters.
+     *
+     * @param masking the masking character to use.
+     * @return function to mask the data.
+     */
+    public static Redactor<byte[]> hex(final char masking) {
+        return new AbstractRedactor<>() {
+            @Override
+            public CharSequence redact(final byte[] t, final int p) {
+                final StringBuilder buffer = new StringBuilder(2 * t.length);
+                try {
+                    redactTo(buffer, t, p);
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return buffer.toString();
+            }
+
+            @Override
+            public int redactedLength(final byte[] t, final int precision) {
+                return 2 * t.length;
+            }
+
+            @Override
+            public boolean exposes(final byte[] t, final int precision) {
+                return precision > 0;
+            }
+
+            @Override
+            public void redactTo(final Appendable out, final byte[] t, final int precision) throws IOException {
+                final int len = 2 * t.length;
+                final int exposed = Math.max(0, Math.min(precision, len));
+                MaskRuns.append(out, masking, len - exposed);
+                for (int i = len - exposed; i < len; i++) {
+                    final int b = t[i >> 1];
+                    out.append(HEX[(i & 1) == 0 ? (b >> 4) & 0xf : b & 0xf]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a function that renders the array as hexadecimal masked with {@link Redactor#DEFAULT_MASK}.
+     *
+     * @return function to mask the data.
+     * @see #hex(char)
+     */
+    public static Redactor<byte[]> hex() {
+        return hex(Redactor.DEFAULT_MASK);
+    }
+
+    /**
+     * Zeroes the protected array.
+     */
+    @Override
+    public void close() {
+        Arrays.fill(this.sensitive, (byte) 0);
+    }
+
+    /**
+     * Returns the hash of the enclosed array as generated by {@link Arrays#hashCode(byte[])}, or its cached
+     * {@link #keyed() keyed} hash.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        if (keyed()) return super.hashCode();
+        return Arrays.hashCode(this.sensitive);
+    }
+
+    /**
+     * Returns true if the types match and the enclosed arrays are equal as indicated by
+     * {@link Arrays#equals(byte[], byte[])}, or by a constant-time comparison if {@link #keyed() keyed}.
+     *
+     * @param o {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (keyed() || ((Sensitive<?>) o).keyed()) return super.equals(o);
+        return Arrays.equals(sensitive, ((SensitiveByteArray) o).sensitive);
+    }
+}
@@ -0,0 +1,103 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@link Sensitive} value backed by a {@code char[]}, for secrets such as passwords and PINs that should not be held
+ * in an immutable {@code String}. {@link #close() Closing} the value zeroes the array, so the secret can be erased
+ * deterministically rather than waiting for garbage collection. The array is not copied, so the caller should not
+ * retain other references to it.
+ */
+public class SensitiveCharArray extends Sensitive<char[]> implements AutoCloseable {
+
+    /**
+     * Creates a wrapper for a sensitive character array.
+     *
+     * @param sensitive the array to protect.
+     */
+    protected SensitiveCharArray(final char[] sensitive) {
+        super(sensitive);
+    }
+
+    /**
+     * Returns a function that replaces all but <em>precision</em> characters at the end of the array with a masking
+     * character, reading directly from the array.
+     *
+     * @param masking the masking character to use.
+     * @return function to mask the data.
+     */
+    public static Redactor<char[]> mask(final char masking) {
+        return new AbstractRedactor<>() {
+            @Override
+            public CharSequence redact(final char[] t, final int p) {
+                final int exposed = Math.max(0, Math.min(p, t.length));
+                return MaskRuns.append(new StringBuilder(t.length), masking, t.length - exposed)
+                        .append(t, t.length - exposed, exposed)
+                        .toString();
+            }
+
+            @Override
+            public int redactedLength(final char[] t, final int precision) {
+                return t.length;
+            }
+
+            @Override
+            public boolean exposes(final char[] t, final int precision) {
+                return precision > 0;
+            }
+
+            @Override
+            public void redactTo(final Appendable out, final char[] t, final int precision) throws IOException {
+                final int exposed = Math.max(0, Math.min(precision, t.length));
+                MaskRuns.append(out, masking, t.length - exposed);
+                for (int i = t.length - exposed; i < t.length; i++) out.append(t[i]);
+            }
+        };
+    }
+
+    /**
+     * Returns a function that replaces all but <em>precision</em> characters at the end of the array with
+     * {@link Redactor#DEFAULT_MASK}.
+     *
+     * @return function to mask the data.
+     */
+    public static Redactor<char[]> mask() {
+        return mask(Redactor.DEFAULT_MASK);
+    }
+
+    /**
+     * Zeroes the protected array.
+     */
+    @Override
+    public void close() {
+        Arrays.fill(this.sensitive, '\0');
+    }
+
+    /**
+     * Returns the hash of the enclosed array as generated by {@link Arrays#hashCode(char[])}, or its cached
+     * {@link #keyed() keyed} hash.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        if (keyed()) return super.hashCode();
+        return Arrays.hashCode(this.sensitive);
+    }
+
+    /**
+     * Returns true if the types match and the enclosed arrays are equal as indicated by
+     * {@link Arrays#equals(char[], char[])}, or by a constant-time comparison if {@link #keyed() keyed}.
+     *
+     * @param o {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (keyed() || ((Sensitive<?>) o).keyed()) return super.equals(o);
+        return Arrays.equals(sensitive, ((SensitiveCharArray) o).sensitive);
+    }
+}
@@ -0,0 +1,151 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Streaming CSV writer, following RFC 4180, that writes {@link Sensitive} values in redacted form.
+ * <p>
+ * A {@code Sensitive} value is written as a quoted field holding its formatted, redacted form at the writer's
+ * precision. Since the rendition is not known in advance, it is always quoted, and quotes in it are doubled as it is
+ * written. Other values are written as the string returned by {@code toString()}, quoted only if they contain the
+ * separator, a quote or a line break. {@code null} is written as an empty field.
+ * </p>
+ * <p>
+ * Writers are not safe for use by multiple threads.
+ * </p>
+ */
+public class SensitiveCsvWriter {
+
+    private final Appendable out;
+
+    private final Appendable quoted;
+
+    private final char separator;
+
+    private final int precision;
+
+    /** Whether the next field is the first in its record. */
+    private boolean first = true;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out       the destination.
+     * @param separator the field separator.
+     * @param precision the precision used to render {@code Sensitive} values, or {@code -1} for none.
+     */
+    public SensitiveCsvWriter(final Appendable out, final char separator, final int precision) {
+        if (separator == '"' || separator == '\r' || separator == '\n') {
+            throw new IllegalArgumentException("Invalid separator");
+        }
+        this.out = out;
+        this.quoted = new Quoter(out);
+        this.separator = separator;
+        this.precision = precision;
+    }
+
+    /**
+     * Creates a writer that separates fields with commas and renders {@code Sensitive} values with no precision, as
+     * {@code toString()} does.
+     *
+     * @param out the destination.
+     */
+    public SensitiveCsvWriter(final Appendable out) {
+        this(out, ',', -1);
+    }
+
+    /**
+     * Writes a field.
+     *
+     * @param value the value, or {@code null} for an empty field.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveCsvWriter field(final Object value) throws IOException {
+        if (!first) out.append(separator);
+        first = false;
+        if (value instanceof Sensitive) {
+            out.append('"');
+            Sensitive.appendTo((Sensitive<?>) value, quoted, Locale.ROOT, 0, -1, precision);
+            out.append('"');
+        } else if (value != null) {
+            final CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            if (needsQuotes(text)) {
+                out.append('"');
+                quoted.append(text);
+                out.append('"');
+            } else {
+                out.append(text);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a record of fields and ends it.
+     *
+     * @param values the values.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveCsvWriter record(final Object... values) throws IOException {
+        for (final Object value : values) field(value);
+        return endRecord();
+    }
+
+    /**
+     * Ends the current record with CRLF.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveCsvWriter endRecord() throws IOException {
+        out.append("\r\n");
+        first = true;
+        return this;
+    }
+
+    private boolean needsQuotes(final CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == separator || c == '"' || c == '\r' || c == '\n') return true;
+        }
+        return false;
+    }
+
+    /**
+     * Doubles quotes, copying runs of other characters unchanged.
+     */
+    private static final class Quoter implements Appendable {
+        private final Appendable out;
+
+        Quoter(final Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+            int copied = start;
+            for (int i = start; i < end; i++) {
+                if (csq.charAt(i) != '"') continue;
+                out.append(csq, copied, i + 1).append('"');
+                copied = i + 1;
+            }
+            out.append(csq, copied, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            out.append(c);
+            if (c == '"') out.append('"');
+            return this;
+        }
+    }
+}
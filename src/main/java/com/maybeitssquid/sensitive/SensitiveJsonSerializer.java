@@ -0,0 +1,74 @@
+package com.maybeitssquid.sensitive;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Jackson serializer that writes {@link Sensitive} values as JSON strings holding their formatted, redacted form.
+ * <p>
+ * Each value is rendered into a per-thread buffer and handed to {@link JsonGenerator#writeString(char[], int, int)},
+ * which escapes it, so no {@code String} is created. Register it for all {@code Sensitive} subclasses with
+ * {@link #module()}. Jackson is an optional dependency, needed only to use this class.
+ * </p>
+ */
+public class SensitiveJsonSerializer extends StdSerializer<Sensitive<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Per-thread rendition buffer. */
+    private static final class Scratch {
+        final StringBuilder rendered = new StringBuilder();
+        char[] chars = new char[64];
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final int precision;
+
+    /**
+     * Creates a serializer.
+     *
+     * @param precision the precision used to render values, or {@code -1} for none.
+     */
+    @SuppressWarnings("unchecked")
+    public SensitiveJsonSerializer(final int precision) {
+        super((Class<Sensitive<?>>) (Class<?>) Sensitive.class);
+        this.precision = precision;
+    }
+
+    /**
+     * Creates a serializer that renders values with no precision, as {@code toString()} does.
+     */
+    public SensitiveJsonSerializer() {
+        this(-1);
+    }
+
+    /**
+     * Creates a module that serializes every {@code Sensitive} subclass with no precision.
+     *
+     * @return the module.
+     */
+    @SuppressWarnings("unchecked")
+    public static SimpleModule module() {
+        return new SimpleModule("Sensitive")
+                .addSerializer((Class<Sensitive<?>>) (Class<?>) Sensitive.class, new SensitiveJsonSerializer());
+    }
+
+    @Override
+    public void serialize(final Sensitive<?> value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        final Scratch scratch = SCRATCH.get();
+        final StringBuilder rendered = scratch.rendered;
+        rendered.setLength(0);
+        Sensitive.appendTo(value, rendered, Locale.ROOT, 0, -1, precision);
+        final int length = rendered.length();
+        if (scratch.chars.length < length) scratch.chars = new char[Math.max(length, scratch.chars.length * 2)];
+        rendered.getChars(0, length, scratch.chars, 0);
+        gen.writeString(scratch.chars, 0, length);
+    }
+}
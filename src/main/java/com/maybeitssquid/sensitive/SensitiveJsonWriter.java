@@ -0,0 +1,374 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer that writes {@link Sensitive} values in redacted form.
+ * <p>
+ * A {@code Sensitive} value is written as a JSON string holding its formatted, redacted form at the writer's
+ * precision, as {@code String.format("%.Ns", value)} would render it. The rendition is escaped as it is written, so
+ * no intermediate {@code String} is created unless the value's class overrides
+ * {@link Sensitive#formatTo(java.util.Formatter, int, int, int)}. {@link #value(Object)} also writes character
+ * sequences, numbers, booleans, maps, iterables and arrays, choosing how to write each class once and caching the
+ * choice. Other objects are written as the string returned by {@code toString()}; no reflection is used.
+ * </p>
+ * <p>
+ * Writers are not safe for use by multiple threads.
+ * </p>
+ */
+public class SensitiveJsonWriter {
+
+    /** How to write each class, chosen once per class. */
+    private enum Kind {
+        SENSITIVE, STRING, NUMBER, BOOLEAN, MAP, ITERABLE, ARRAY, OTHER
+    }
+
+    private static final ClassValue<Kind> KINDS = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(final Class<?> type) {
+            if (Sensitive.class.isAssignableFrom(type)) return Kind.SENSITIVE;
+            if (CharSequence.class.isAssignableFrom(type) || type == Character.class) return Kind.STRING;
+            if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                    || type == Double.class || type == Float.class
+                    || type == java.math.BigInteger.class || type == java.math.BigDecimal.class) return Kind.NUMBER;
+            if (type == Boolean.class) return Kind.BOOLEAN;
+            if (Map.class.isAssignableFrom(type)) return Kind.MAP;
+            if (Iterable.class.isAssignableFrom(type)) return Kind.ITERABLE;
+            if (type.isArray()) return Kind.ARRAY;
+            return Kind.OTHER;
+        }
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Appendable out;
+
+    private final Appendable escaped;
+
+    private final int precision;
+
+    /** Whether the next value at each depth is the first in its object or array. */
+    private boolean[] first = new boolean[16];
+
+    private int depth;
+
+    /** Whether a name has just been written, so the next value needs no separator. */
+    private boolean named;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out       the destination.
+     * @param precision the precision used to render {@code Sensitive} values, or {@code -1} for none.
+     */
+    public SensitiveJsonWriter(final Appendable out, final int precision) {
+        this.out = out;
+        this.escaped = new Escaper(out);
+        this.precision = precision;
+    }
+
+    /**
+     * Creates a writer that renders {@code Sensitive} values with no precision, as {@code toString()} does.
+     *
+     * @param out the destination.
+     */
+    public SensitiveJsonWriter(final Appendable out) {
+        this(out, -1);
+    }
+
+    private void separate() throws IOException {
+        if (named) {
+            named = false;
+        } else if (depth > 0) {
+            if (!first[depth]) out.append(',');
+            first[depth] = false;
+        }
+    }
+
+    private void push(final char open) throws IOException {
+        separate();
+        out.append(open);
+        if (++depth == first.length) first = Arrays.copyOf(first, depth * 2);
+        first[depth] = true;
+    }
+
+    private SensitiveJsonWriter pop(final char close) throws IOException {
+        if (depth == 0 || named) throw new IllegalStateException("Nothing to close");
+        depth--;
+        out.append(close);
+        return this;
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter beginObject() throws IOException {
+        push('{');
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter endObject() throws IOException {
+        return pop('}');
+    }
+
+    /**
+     * Starts an array.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter beginArray() throws IOException {
+        push('[');
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter endArray() throws IOException {
+        return pop(']');
+    }
+
+    /**
+     * Writes the name of the next member of the current object. A {@code Sensitive} name is written redacted.
+     *
+     * @param name the name.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter name(final Object name) throws IOException {
+        if (named) throw new IllegalStateException("Name already written");
+        separate();
+        if (name instanceof Sensitive) {
+            string((Sensitive<?>) name);
+        } else {
+            string(String.valueOf(name));
+        }
+        out.append(':');
+        named = true;
+        return this;
+    }
+
+    /**
+     * Writes a value of any type.
+     *
+     * @param value the value, or {@code null}.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter value(final Object value) throws IOException {
+        if (value == null) return nullValue();
+        switch (KINDS.get(value.getClass())) {
+            case SENSITIVE:
+                return value((Sensitive<?>) value);
+            case STRING:
+                return value(value instanceof CharSequence ? (CharSequence) value : value.toString());
+            case NUMBER:
+                return number((Number) value);
+            case BOOLEAN:
+                return value(((Boolean) value).booleanValue());
+            case MAP:
+                beginObject();
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    name(entry.getKey()).value(entry.getValue());
+                }
+                return endObject();
+            case ITERABLE:
+                beginArray();
+                for (final Object element : (Iterable<?>) value) value(element);
+                return endArray();
+            case ARRAY:
+                beginArray();
+                final int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) value(Array.get(value, i));
+                return endArray();
+            default:
+                return value(value.toString());
+        }
+    }
+
+    /**
+     * Writes the redacted form of a sensitive value as a string.
+     *
+     * @param value the value.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter value(final Sensitive<?> value) throws IOException {
+        separate();
+        string(value);
+        return this;
+    }
+
+    /**
+     * Writes a string.
+     *
+     * @param value the value.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter value(final CharSequence value) throws IOException {
+        separate();
+        string(value);
+        return this;
+    }
+
+    /**
+     * Writes a number.
+     *
+     * @param value the value.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter value(final long value) throws IOException {
+        separate();
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Long.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param value the value.
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter value(final boolean value) throws IOException {
+        separate();
+        out.append(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes {@code null}.
+     *
+     * @return this writer.
+     * @throws IOException if the destination throws.
+     */
+    public SensitiveJsonWriter nullValue() throws IOException {
+        separate();
+        out.append("null");
+        return this;
+    }
+
+    private SensitiveJsonWriter number(final Number value) throws IOException {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        }
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            throw new IllegalArgumentException("JSON cannot represent " + value);
+        }
+        separate();
+        out.append(value.toString());
+        return this;
+    }
+
+    private void string(final Sensitive<?> value) throws IOException {
+        out.append('"');
+        Sensitive.appendTo(value, escaped, Locale.ROOT, 0, -1, precision);
+        out.append('"');
+    }
+
+    private void string(final CharSequence value) throws IOException {
+        out.append('"');
+        escaped.append(value);
+        out.append('"');
+    }
+
+    /**
+     * Escapes characters that JSON strings cannot hold, copying runs of other characters unchanged.
+     */
+    private static final class Escaper implements Appendable {
+        private final Appendable out;
+
+        Escaper(final Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+            int copied = start;
+            for (int i = start; i < end; i++) {
+                final char c = csq.charAt(i);
+                if (plain(c)) continue;
+                out.append(csq, copied, i);
+                escape(c);
+                copied = i + 1;
+            }
+            out.append(csq, copied, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            if (plain(c)) {
+                out.append(c);
+            } else {
+                escape(c);
+            }
+            return this;
+        }
+
+        /**
+         * Indicates whether a character can be written unescaped. Line and paragraph separators are escaped so that
+         * output can be embedded in JavaScript.
+         */
+        private static boolean plain(final char c) {
+            return c >= ' ' && c != '"' && c != '\\' && c != 0x2028 && c != 0x2029;
+        }
+
+        private void escape(final char c) throws IOException {
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u").append(HEX[c >> 12]).append(HEX[c >> 8 & 0xf])
+                            .append(HEX[c >> 4 & 0xf]).append(HEX[c & 0xf]);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+
+/**
+ * Copies free text to a destination, redacting sensitive data found in it. Implementations must be safe to use from
+ * several threads at once.
+ */
+@FunctionalInterface
+public interface TextScanner {
+
+    /**
+     * Copies text to a destination, redacting sensitive data found in it.
+     *
+     * @param in  the text to scan.
+     * @param out the destination.
+     * @throws IOException if the destination throws.
+     */
+    void scan(CharSequence in, Appendable out) throws IOException;
+}
@@ -0,0 +1,201 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A class of characters that {@link Tokenizer} replaces with one another. Decimal digits of every script form one
+ * class, written back in the script of the digit they replace. ASCII upper-case and lower-case letters form a class
+ * each. Every other letter belongs to the class of code points with the same script and general category, in the same
+ * plane group, so that a Cyrillic capital is replaced by a Cyrillic capital, a Han ideograph by a Han ideograph, and
+ * a supplementary character by another that also takes two {@code char}s. Characters that are not letters or digits
+ * belong to no class.
+ * <p>
+ * Classes other than ASCII are read from {@code token-alphabets.txt}, which pins them to Unicode 15.0, once when first
+ * needed. Tokens therefore do not depend on the Unicode version of the JVM.
+ * </p>
+ */
+final class TokenAlphabet {
+
+    /** Largest power of the radix used for half a block, keeping round outputs below 2<sup>48</sup>. */
+    private static final long LIMIT = 1L << 48;
+
+    static final TokenAlphabet DIGITS = new TokenAlphabet(0, null, null, 10);
+
+    private static final TokenAlphabet UPPER = new TokenAlphabet(1, new int[]{'A'}, new int[]{0}, 26);
+
+    private static final TokenAlphabet LOWER = new TokenAlphabet(2, new int[]{'a'}, new int[]{0}, 26);
+
+    /** Identifies the class in the cipher's tweak. */
+    final int id;
+
+    /** The first code point of each range of the class, or {@code null} for decimal digits. */
+    private final int[] starts;
+
+    /** The numeral of the first code point of each range. */
+    private final int[] numerals;
+
+    final int radix;
+
+    /** Characters in each half of a full block. */
+    final int half;
+
+    /** Powers of the radix, up to {@code half + 1}. */
+    final long[] powers;
+
+    private TokenAlphabet(final int id, final int[] starts, final int[] numerals, final int radix) {
+        this.id = id;
+        this.starts = starts;
+        this.numerals = numerals;
+        this.radix = radix;
+        int half = 0;
+        long power = 1;
+        while (radix > 1 && power * radix < LIMIT) {
+            power *= radix;
+            half++;
+        }
+        this.half = half;
+        this.powers = new long[half + 2];
+        this.powers[0] = 1;
+        for (int m = 1; m < powers.length; m++) powers[m] = powers[m - 1] * radix;
+    }
+
+    /**
+     * Gets the class of a code point.
+     *
+     * @param codePoint the code point.
+     * @return the class, or {@code null} if the code point is not a letter or digit of Unicode 15.0.
+     */
+    static TokenAlphabet of(final int codePoint) {
+        if (codePoint < 128) {
+            if (codePoint >= '0' && codePoint <= '9') return DIGITS;
+            if (codePoint >= 'A' && codePoint <= 'Z') return UPPER;
+            if (codePoint >= 'a' && codePoint <= 'z') return LOWER;
+            return null;
+        }
+        return Table.classOf(codePoint);
+    }
+
+    /**
+     * Gets the numeral for a code point of this class.
+     *
+     * @param codePoint the code point.
+     * @return the numeral, from 0 to {@code radix - 1}.
+     */
+    int numeral(final int codePoint) {
+        if (starts == null) return codePoint - zero(codePoint);
+        final int range = floor(starts, codePoint);
+        return numerals[range] + codePoint - starts[range];
+    }
+
+    /**
+     * Gets the code point for a numeral, in the script of the code point it replaces.
+     *
+     * @param numeral  the numeral.
+     * @param replaced the code point being replaced.
+     * @return the code point.
+     */
+    int codePoint(final int numeral, final int replaced) {
+        if (starts == null) return zero(replaced) + numeral;
+        final int range = floor(numerals, numeral);
+        return starts[range] + numeral - numerals[range];
+    }
+
+    private static int zero(final int digit) {
+        return digit < 128 ? '0' : Table.zero(digit);
+    }
+
+    /** Finds the last element of a sorted array that is not greater than a key. */
+    private static int floor(final int[] sorted, final int key) {
+        final int found = Arrays.binarySearch(sorted, key);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * The pinned classes, loaded on first use so that ASCII-only tokenizing does not read them.
+     */
+    private static final class Table {
+
+        /** The zeros of each run of ten decimal digits, ASCII first. */
+        private static final int[] ZEROS;
+
+        /** The first code point of each range of every class, in ascending order. */
+        private static final int[] STARTS;
+
+        /** The last code point of each range. */
+        private static final int[] ENDS;
+
+        /** The class of each range. */
+        private static final TokenAlphabet[] CLASSES;
+
+        static {
+            final List<String> lines = new ArrayList<>();
+            try (InputStream in = TokenAlphabet.class.getResourceAsStream("token-alphabets.txt")) {
+                if (in == null) throw new IllegalStateException("token-alphabets.txt is missing");
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (!line.isEmpty() && line.charAt(0) != '#') lines.add(line);
+                }
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot read token-alphabets.txt", e);
+            }
+
+            final String[] zeros = lines.get(0).split(" ");
+            ZEROS = new int[zeros.length];
+            ZEROS[0] = '0';
+            for (int i = 1; i < zeros.length; i++) ZEROS[i] = Integer.parseInt(zeros[i], 16);
+
+            final List<int[]> ranges = new ArrayList<>();
+            final List<TokenAlphabet> classes = new ArrayList<>();
+            for (int z = 1; z < ZEROS.length; z++) {
+                ranges.add(new int[]{ZEROS[z], ZEROS[z] + 9});
+                classes.add(DIGITS);
+            }
+            for (int l = 1; l < lines.size(); l++) {
+                // Script and general category, then ranges
+                final String[] fields = lines.get(l).split(" ");
+                final int[] starts = new int[fields.length - 2];
+                final int[] numerals = new int[starts.length];
+                int radix = 0;
+                for (int f = 2; f < fields.length; f++) {
+                    final int dash = fields[f].indexOf('-');
+                    final int start = Integer.parseInt(dash < 0 ? fields[f] : fields[f].substring(0, dash), 16);
+                    final int end = dash < 0 ? start : Integer.parseInt(fields[f].substring(dash + 1), 16);
+                    starts[f - 2] = start;
+                    numerals[f - 2] = radix;
+                    radix += end - start + 1;
+                    ranges.add(new int[]{start, end});
+                }
+                final TokenAlphabet alphabet = new TokenAlphabet(l + 2, starts, numerals, radix);
+                for (int f = 2; f < fields.length; f++) classes.add(alphabet);
+            }
+
+            final Integer[] order = new Integer[ranges.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Integer.compare(ranges.get(a)[0], ranges.get(b)[0]));
+            STARTS = new int[order.length];
+            ENDS = new int[order.length];
+            CLASSES = new TokenAlphabet[order.length];
+            for (int i = 0; i < order.length; i++) {
+                STARTS[i] = ranges.get(order[i])[0];
+                ENDS[i] = ranges.get(order[i])[1];
+                CLASSES[i] = classes.get(order[i]);
+            }
+        }
+
+        static TokenAlphabet classOf(final int codePoint) {
+            final int range = floor(STARTS, codePoint);
+            return range >= 0 && codePoint <= ENDS[range] ? CLASSES[range] : null;
+        }
+
+        static int zero(final int digit) {
+            return ZEROS[floor(ZEROS, digit)];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.maybeitssquid.sensitive;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, concurrent cache of recent tokens, split into independently locked stripes. Each stripe is a
+ * least-recently-used map holding an equal share of the capacity, so threads looking up different values rarely
+ * contend, and eviction is least-recently-used within each stripe.
+ */
+final class TokenCache {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the maximum number of tokens, which must be positive.
+     */
+    TokenCache(final int capacity) {
+        final int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, capacity / 16)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe((capacity + count - 1) / count);
+        this.mask = count - 1;
+    }
+
+    private Stripe stripe(final String value) {
+        final int h = value.hashCode() * 0x9E3779B9;
+        return stripes[(h ^ h >>> 16) & mask];
+    }
+
+    String get(final String value) {
+        final Stripe stripe = stripe(value);
+        synchronized (stripe) {
+            return stripe.get(value);
+        }
+    }
+
+    void put(final String value, final String token) {
+        final Stripe stripe = stripe(value);
+        synchronized (stripe) {
+            stripe.put(value, token);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, String> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.maybeitssquid.sensitive;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * A redactor that replaces text with a stable, format-preserving pseudonym, so that redacted values can still be
+ * joined and counted. The same input and key always give the same token. The token has the same length as the input,
+ * with every letter and digit replaced by one of the same class: decimal digits by digits of the same script, ASCII
+ * letters by ASCII letters of the same case, and other letters, such as Cyrillic, Greek, Arabic or Han, by letters of
+ * the same script and general category, including supplementary characters. The classes are pinned to Unicode 15.0,
+ * so tokens are the same on every JVM; letters and digits added in later versions are replaced by {@code U+FFFD}.
+ * Characters that are neither letters nor digits, such as separators, punctuation and combining marks, are kept in
+ * place. The precision is the number of rightmost characters left in plain text, as with {@link Redactor#mask(char)}.
+ * <p>
+ * Each character class is enciphered separately with an FF1-style ten-round Feistel network. Its round function is
+ * HMAC-SHA256 under the key, so tokens cannot be computed without the key. Distinct inputs of the same format always
+ * give distinct tokens. Long runs are enciphered in blocks, such as 28 digits or 20 ASCII letters, each tweaked by
+ * the characters before it. The classes of non-ASCII characters are loaded once, the first time one is seen. Tokens
+ * are pseudonyms, not encryption: when a class has few characters, as in a short PIN, anyone holding the key can
+ * enumerate every possible value.
+ * </p>
+ * <p>
+ * Recently computed tokens are kept in a bounded, concurrent least-recently-used cache, so repeated values skip the
+ * cipher. The cache holds the plain text of those values; construct the tokenizer with a capacity of 0 to disable
+ * it. Tokenizers are safe for use by multiple threads.
+ * </p>
+ */
+public final class Tokenizer implements Redactor<CharSequence> {
+
+    /** Default number of cached tokens. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int ROUNDS = 10;
+
+    /** Replaces each {@code char} of letters and digits that have no class. */
+    private static final char UNSUPPORTED = '\uFFFD';
+
+    private final SecretKeySpec key;
+
+    private final TokenCache cache;
+
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(this::cipher);
+
+    /**
+     * Creates a tokenizer.
+     *
+     * @param key      the secret key, of at least 16 bytes. The key is copied.
+     * @param capacity the number of recent tokens to cache, or 0 for none.
+     * @throws IllegalArgumentException if the key is shorter than 16 bytes or the capacity is negative.
+     */
+    public Tokenizer(final byte[] key, final int capacity) {
+        if (key.length < 16) throw new IllegalArgumentException("Key must have at least 16 bytes: " + key.length);
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        this.key = new SecretKeySpec(key, "HmacSHA256");
+        this.cache = capacity == 0 ? null : new TokenCache(capacity);
+    }
+
+    /**
+     * Creates a tokenizer that caches up to {@link #DEFAULT_CAPACITY} tokens.
+     *
+     * @param key the secret key, of at least 16 bytes. The key is copied.
+     * @throws IllegalArgumentException if the key is shorter than 16 bytes.
+     */
+    public Tokenizer(final byte[] key) {
+        this(key, DEFAULT_CAPACITY);
+    }
+
+    private Cipher cipher() {
+        try {
+            final Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(this.key);
+            return new Cipher(mac);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is unavailable", e);
+        }
+    }
+
+    /**
+     * Gets the token for a value, from the cache if it was computed recently.
+     *
+     * @param value the value.
+     * @return the token, of the same length as the value.
+     */
+    public String tokenize(final CharSequence value) {
+        final String plain = value.toString();
+        if (cache == null) return ciphers.get().tokenize(plain);
+        String token = cache.get(plain);
+        if (token == null) {
+            token = ciphers.get().tokenize(plain);
+            cache.put(plain, token);
+        }
+        return token;
+    }
+
+    /** Gets the number of cached tokens. */
+    int cached() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    @Override
+    public CharSequence apply(final CharSequence t, final Integer precision) {
+        return redact(t, precision);
+    }
+
+    @Override
+    public CharSequence redact(final CharSequence t, final int precision) {
+        final int len = t.length();
+        if (precision >= len) return t;
+        final String token = tokenize(t);
+        if (precision <= 0) return token;
+        int cut = len - precision;
+        // Never expose half of a surrogate pair
+        if (Character.isHighSurrogate(t.charAt(cut - 1)) && Character.isLowSurrogate(t.charAt(cut))) cut++;
+        return new StringBuilder(len).append(token, 0, cut).append(t, cut, len).toString();
+    }
+
+    /**
+     * Returns the length of the input, since tokens replace characters one for one.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return the length of the input.
+     */
+    @Override
+    public int redactedLength(final CharSequence t, final int precision) {
+        return t.length();
+    }
+
+    /**
+     * Returns whether the precision is positive, since no precision replaces the whole input with its token.
+     *
+     * @param t         {@inheritDoc}
+     * @param precision {@inheritDoc}
+     * @return {@code true} if the precision is positive.
+     */
+    @Override
+    public boolean exposes(final CharSequence t, final int precision) {
+        return precision > 0;
+    }
+
+    /**
+     * Per-thread cipher state: a keyed MAC and reusable buffers.
+     */
+    private static final class Cipher {
+        private final Mac mac;
+        private final byte[] input = new byte[30];
+        private final byte[] output;
+        /** The class of each letter or digit, cleared once its class has been enciphered. */
+        private TokenAlphabet[] classes = new TokenAlphabet[64];
+        /** The index of each letter or digit in the input. */
+        private int[] offsets = new int[64];
+        private int[] values = new int[64];
+        private int[] positions = new int[64];
+
+        Cipher(final Mac mac) {
+            this.mac = mac;
+            this.output = new byte[mac.getMacLength()];
+        }
+
+        String tokenize(final String plain) {
+            final char[] chars = plain.toCharArray();
+            if (classes.length < chars.length) {
+                classes = new TokenAlphabet[chars.length];
+                offsets = new int[chars.length];
+                values = new int[chars.length];
+                positions = new int[chars.length];
+            }
+            int count = 0;
+            for (int i = 0; i < chars.length; ) {
+                final int codePoint = Character.codePointAt(chars, i);
+                final TokenAlphabet alphabet = TokenAlphabet.of(codePoint);
+                if (alphabet != null) {
+                    classes[count] = alphabet;
+                    offsets[count++] = i;
+                } else if (Character.isLetterOrDigit(codePoint)) {
+                    // Newer than the pinned classes, so masked rather than left in plain text
+                    Arrays.fill(chars, i, i + Character.charCount(codePoint), UNSUPPORTED);
+                }
+                i += Character.charCount(codePoint);
+            }
+            // Digits are enciphered first, then letters in order of first appearance, each class tweaked by the ones before
+            long chain = 0;
+            for (int j = 0; j < count; j++) {
+                if (classes[j] == TokenAlphabet.DIGITS) {
+                    chain = encipher(chars, TokenAlphabet.DIGITS, j, count, chain);
+                    break;
+                }
+            }
+            for (int j = 0; j < count; j++) {
+                if (classes[j] != null) chain = encipher(chars, classes[j], j, count, chain);
+            }
+            return new String(chars);
+        }
+
+        /** Enciphers the letters or digits of a class in place, returning the tweak for the next class. */
+        private long encipher(final char[] chars, final TokenAlphabet alphabet, final int first, final int count,
+                              long chain) {
+            final int n = gather(chars, alphabet, first, count);
+            if (alphabet.radix > 1) {
+                // Blocks are balanced, so that no block is left with too few characters
+                final int blocks = (n + 2 * alphabet.half - 1) / (2 * alphabet.half);
+                for (int b = 0, from = 0; b < blocks; b++) {
+                    final int length = n / blocks + (b < n % blocks ? 1 : 0);
+                    final long before = digest(from, length);
+                    encipher(alphabet, from, length, b, n, chain);
+                    chain = (chain ^ before) * 0x9E3779B97F4A7C15L + alphabet.id;
+                    from += length;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                final int at = positions[i];
+                Character.toChars(alphabet.codePoint(values[i], Character.codePointAt(chars, at)), chars, at);
+            }
+            return chain;
+        }
+
+        /** Collects the letters or digits of a class as numerals, with their positions, and clears their classes. */
+        private int gather(final char[] chars, final TokenAlphabet alphabet, final int from, final int count) {
+            int n = 0;
+            for (int j = from; j < count; j++) {
+                if (classes[j] != alphabet) continue;
+                classes[j] = null;
+                values[n] = alphabet.numeral(Character.codePointAt(chars, offsets[j]));
+                positions[n++] = offsets[j];
+            }
+            return n;
+        }
+
+        private long digest(final int from, final int length) {
+            long h = length;
+            for (int i = from; i < from + length; i++) h = h * 31 + values[i];
+            return h;
+        }
+
+        private void encipher(final TokenAlphabet alphabet, final int from, final int length, final int block,
+                              final int total, final long tweak) {
+            final long[] powers = alphabet.powers;
+            final int u = length / 2;
+            final int v = length - u;
+            long a = number(alphabet, from, u);
+            long b = number(alphabet, from + u, v);
+            for (int round = 0; round < ROUNDS; round++) {
+                final long m = powers[(round & 1) == 0 ? u : v];
+                final long c = (a + round(tweak, alphabet.id, block, total, round, b) % m) % m;
+                a = b;
+                b = c;
+            }
+            numerals(alphabet, a, from, u);
+            numerals(alphabet, b, from + u, v);
+        }
+
+        private long number(final TokenAlphabet alphabet, final int from, final int length) {
+            long number = 0;
+            for (int i = from; i < from + length; i++) number = number * alphabet.radix + values[i];
+            return number;
+        }
+
+        private void numerals(final TokenAlphabet alphabet, long number, final int from, final int length) {
+            for (int i = from + length - 1; i >= from; i--) {
+                values[i] = (int) (number % alphabet.radix);
+                number /= alphabet.radix;
+            }
+        }
+
+        /** Computes the round function, HMAC-SHA256 of the tweak, position and right half, as 63 bits. */
+        private long round(final long tweak, final int id, final int block, final int total, final int round,
+                           final long half) {
+            put(0, tweak);
+            put(8, (long) id << 32 | round);
+            put(16, (long) block << 32 | total);
+            input[24] = (byte) (half >>> 40);
+            input[25] = (byte) (half >>> 32);
+            input[26] = (byte) (half >>> 24);
+            input[27] = (byte) (half >>> 16);
+            input[28] = (byte) (half >>> 8);
+            input[29] = (byte) half;
+            mac.update(input, 0, input.length);
+            try {
+                mac.doFinal(output, 0);
+            } catch (final ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            long y = 0;
+            for (int i = 0; i < 8; i++) y = y << 8 | (output[i] & 0xff);
+            return y >>> 1;
+        }
+
+        private void put(final int at, final long value) {
+            for (int i = 0; i < 8; i++) input[at + i] = (byte) (value >>> 56 - 8 * i);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.maybeitssquid.sensitive;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Converts characters to upper case as they are appended to another {@link Appendable}. ASCII characters are mapped
+ * inline without allocating; any other text is converted with {@link String#toUpperCase(Locale)} one appended
+ * sequence at a time so that locale-specific rules still apply.
+ */
+final class UpperCaseAppendable implements Appendable {
+
+    private final Appendable out;
+
+    private final Locale locale;
+
+    private final boolean dottedI;
+
+    UpperCaseAppendable(final Appendable out, final Locale locale) {
+        this.out = out;
+        this.locale = locale == null ? Locale.ROOT : locale;
+        final String language = this.locale.getLanguage();
+        this.dottedI = "tr".equals(language) || "az".equals(language);
+    }
+
+    private char upper(final char c) {
+        if (c < 'a' || c > 'z') return c;
+        if (c == 'i' && dottedI) return 'İ';
+        return (char) (c - ('a' - 'A'));
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq) throws IOException {
+        final CharSequence s = csq == null ? "null" : csq;
+        return append(s, 0, s.length());
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+        final CharSequence s = csq == null ? "null" : csq;
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) >= 0x80) {
+                out.append(s.subSequence(start, end).toString().toUpperCase(locale));
+                return this;
+            }
+        }
+        for (int i = start; i < end; i++) out.append(upper(s.charAt(i)));
+        return this;
+    }
+
+    @Override
+    public Appendable append(final char c) throws IOException {
+        if (c < 0x80) {
+            out.append(upper(c));
+        } else {
+            out.append(String.valueOf(c).toUpperCase(locale));
+        }
+        return this;
+    }
+}
@@ -0,0 +1,57 @@
+package com.maybeitssquid.sensitive;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Counts and masks digits a vector of characters at a time, using the widest vectors the platform prefers. Only
+ * loaded when {@code jdk.incubator.vector} is available.
+ */
+final class VectorDigitMask extends DigitMask {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    VectorDigitMask() {
+    }
+
+    /**
+     * Finds the digits in a vector of characters with two signed comparisons. Characters from {@code U+8000} up are
+     * negative as shorts, so they fail the lower bound like any other character below {@code '0'}.
+     */
+    private static VectorMask<Short> digits(final ShortVector chars) {
+        return chars.compare(VectorOperators.GE, (short) '0').and(chars.compare(VectorOperators.LE, (short) '9'));
+    }
+
+    @Override
+    int count(final char[] chars, final int length) {
+        final int bound = SPECIES.loopBound(length);
+        int digits = 0;
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            digits += digits(ShortVector.fromCharArray(SPECIES, chars, i)).trueCount();
+        }
+        for (; i < length; i++) {
+            if (isDigit(chars[i])) digits++;
+        }
+        return digits;
+    }
+
+    @Override
+    void fill(final char[] chars, final int length, final char masking, int count) {
+        final ShortVector mask = ShortVector.broadcast(SPECIES, (short) masking);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound && count > 0; i += SPECIES.length()) {
+            final ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            final VectorMask<Short> digits = digits(vector);
+            final int found = digits.trueCount();
+            // The vector holding the last digit to mask is finished one character at a time
+            if (found > count) break;
+            mask.intoCharArray(chars, i, digits);
+            count -= found;
+        }
+        fillFrom(chars, i, length, masking, count);
+    }
+}
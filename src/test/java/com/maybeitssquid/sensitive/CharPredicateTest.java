@@ -0,0 +1,109 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CharPredicateTest {
+
+    @Test
+    void testPredicates() {
+        assertTrue(CharPredicate.digits().test('7'));
+        assertFalse(CharPredicate.digits().test('-'));
+        assertFalse(CharPredicate.digits().test('٣'));
+        assertTrue(CharPredicate.letters().test('é'));
+        assertFalse(CharPredicate.letters().test('1'));
+        assertTrue(CharPredicate.lettersOrDigits().test('1'));
+        assertFalse(CharPredicate.lettersOrDigits().test(' '));
+        assertTrue(CharPredicate.digits().negate().test('-'));
+        assertTrue(CharPredicate.digits().or(c -> c == 'x').test('x'));
+    }
+
+    @Test
+    void testAnyOf() {
+        final CharPredicate vowels = CharPredicate.anyOf("aeioué");
+        assertTrue(vowels.test('a'));
+        assertTrue(vowels.test('é'));
+        assertFalse(vowels.test('b'));
+        assertFalse(vowels.test('è'));
+        assertFalse(CharPredicate.anyOf("abc").test('ü'));
+    }
+
+    @Test
+    void testCount() {
+        assertEquals(16, CharPredicate.digits().count("4111-1111-1111-1111"));
+        assertEquals(0, CharPredicate.letters().count(""));
+    }
+
+    @Test
+    void testMask() {
+        final Redactor<CharSequence> test = Redactor.mask('*', CharPredicate.letters());
+
+        assertEquals("**1-** ***", test.redact("ab1-cd efg", -1).toString());
+        assertEquals("***1-** ***", test.redact("abc1-de fgh", 0).toString());
+        assertEquals("***1-** *gh", test.redact("abc1-de fgh", 2).toString());
+        assertEquals("***1-*e fgh", test.redact("abc1-de fgh", 4).toString());
+        assertEquals("abc1-de fgh", test.redact("abc1-de fgh", 8).toString());
+        assertEquals("abc1-de fgh", test.redact("abc1-de fgh", 20).toString());
+        assertEquals("", test.redact("", 0).toString());
+    }
+
+    @Test
+    void testSupplementary() {
+        // U+20000 and U+20001 are CJK Extension B ideographs, each a surrogate pair
+        final String han = "\uD840\uDC00\uD840\uDC01-x";
+        assertTrue(CharPredicate.letters().testCodePoint(0x20000));
+        assertTrue(CharPredicate.lettersOrDigits().testCodePoint(0x20000));
+        assertTrue(CharPredicate.digits().negate().testCodePoint(0x20000));
+        assertTrue(CharPredicate.digits().or(CharPredicate.letters()).testCodePoint(0x20000));
+        assertFalse(CharPredicate.anyOf("x").testCodePoint(0x20000));
+        assertEquals(3, CharPredicate.letters().count(han));
+
+        final Redactor<CharSequence> test = Redactor.mask('*', CharPredicate.letters());
+        assertEquals("****-*", test.redact(han, 0).toString());
+        assertEquals("**\uD840\uDC01-x", test.redact(han, 2).toString());
+        assertEquals("**-\uD840\uDC00", test.redact("\uD840\uDC01-\uD840\uDC00", 1).toString());
+        assertEquals("\uDC00-**", test.redact("\uDC00-ab", 0).toString());
+    }
+
+    @Test
+    void testMaskPreservesLayout() {
+        final Redactor<CharSequence> test = Redactor.mask(CharPredicate.digits());
+        assertEquals("####-####-####-1111", test.redact("4111-1111-1111-1111", 4).toString());
+        assertEquals(test.redact("4111 1111", 2).toString(), Redactor.maskDigits().redact("4111 1111", 2).toString());
+        assertEquals("#-#", Redactor.mask(CharPredicate.lettersOrDigits()).redact("a-1", -1).toString());
+    }
+
+    @Test
+    void testUnchanged() {
+        final String plain = "- / -";
+        assertSame(plain, Redactor.mask(CharPredicate.letters()).redact(plain, 0));
+        assertSame(plain, Redactor.mask(CharPredicate.digits()).redact(plain, 0));
+    }
+
+    @Test
+    void testLimited() {
+        final CharPredicate digits = CharPredicate.digits();
+        final Redactor<CharSequence> limited = Redactor.limited(digits::count, Redactor.mask(digits));
+        assertEquals("###-##-6789", limited.redact("123-45-6789", 9).toString());
+        assertEquals("###-##-6789", limited.redact("123-45-6789", -1).toString());
+        assertEquals("###-##-##89", limited.redact("123-45-6789", 2).toString());
+
+        final Redactor<CharSequence> defaulted = Redactor.defaulted(digits::count, Redactor.mask(digits));
+        assertEquals("###-##-6789", defaulted.redact("123-45-6789", -1).toString());
+        assertEquals("123-45-6789", defaulted.redact("123-45-6789", 9).toString());
+    }
+
+    @Test
+    void testFormatted() {
+        final Sensitive<CharSequence> card = new Sensitive<>("4111-1111-1111-1111") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return Redactor.mask(CharPredicate.lettersOrDigits());
+            }
+        };
+        assertEquals("####-####-####-####", card.toString());
+        assertEquals("####-####-####-1111", String.format("%.4s", card));
+        assertEquals("####-####-####-1111  ", String.format("%-21.4s", card));
+    }
+}
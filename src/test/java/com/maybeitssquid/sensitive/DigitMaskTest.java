@@ -0,0 +1,75 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DigitMaskTest {
+
+    @Test
+    void testMaskDigits() {
+        final Redactor<CharSequence> redactor = Redactor.maskDigits();
+        assertEquals("###-##-####", redactor.redact("123-45-6789", -1).toString());
+        assertEquals("###-##-####", redactor.redact("123-45-6789", 0).toString());
+        assertEquals("###-##-6789", redactor.redact("123-45-6789", 4).toString());
+        assertEquals("###-#5-6789", redactor.redact("123-45-6789", 5).toString());
+        assertEquals("123-45-6789", redactor.redact("123-45-6789", 9).toString());
+        assertEquals("123-45-6789", redactor.redact("123-45-6789", 11).toString());
+        assertEquals("", redactor.redact("", 0).toString());
+        assertEquals("no digits", redactor.redact("no digits", 0).toString());
+        assertEquals("**** **** **** 1111", Redactor.maskDigits('*').redact("4111 1111 1111 1111", 4).toString());
+    }
+
+    @Test
+    void testUnchangedInputIsReturned() {
+        final String plain = "no digits at all";
+        assertSame(plain, Redactor.maskDigits().redact(plain, 0));
+    }
+
+    @Test
+    void testNonAsciiDigitsAreKept() {
+        assertEquals("١٢#", Redactor.maskDigits().redact("١٢3", 0).toString());
+    }
+
+    @Test
+    void testFormatted() {
+        final Sensitive<CharSequence> sensitive = new Sensitive<>("card 4111-1111-1111-1111") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return Redactor.maskDigits();
+            }
+        };
+        assertEquals("card ####-####-####-1111", String.format("%.4s", sensitive));
+        assertEquals("  card ####-####-####-####", String.format("%26s", sensitive));
+    }
+
+    @Test
+    void testLongInput() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) text.append("id ").append(i).append(", ");
+        final String masked = Redactor.maskDigits().redact(text, 3).toString();
+        assertEquals(text.length(), masked.length());
+        assertTrue(masked.endsWith("id 999, "));
+        assertTrue(masked.startsWith("id #, id #, "));
+        assertEquals(3, masked.chars().filter(c -> c >= '0' && c <= '9').count());
+    }
+
+    @Test
+    void testBestMatchesScalar() {
+        final Random random = new Random(42);
+        final char[] alphabet = "0123456789-/ a٠".toCharArray();
+        for (int trial = 0; trial < 500; trial++) {
+            final char[] chars = new char[random.nextInt(200)];
+            for (int i = 0; i < chars.length; i++) chars[i] = alphabet[random.nextInt(alphabet.length)];
+            final int keep = random.nextInt(40) - 1;
+            final char[] scalar = chars.clone();
+            final char[] best = chars.clone();
+            assertEquals(DigitMask.SCALAR.count(scalar, scalar.length), DigitMasks.BEST.count(best, best.length));
+            assertEquals(DigitMask.SCALAR.mask(scalar, scalar.length, '#', keep),
+                    DigitMasks.BEST.mask(best, best.length, '#', keep));
+            assertArrayEquals(scalar, best);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExposureBudgetTest {
+
+    private static final Duration WINDOW = Duration.ofNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /** Field limited to two exposures per window. */
+    private static final class Limited extends MaskedField {
+        private final ExposureBudget budget;
+
+        Limited(final CharSequence sensitive, final ExposureBudget budget) {
+            super(sensitive);
+            this.budget = budget;
+        }
+
+        @Override
+        protected ExposureBudget budget() {
+            return budget;
+        }
+    }
+
+    @Test
+    void testPerValue() {
+        final ExposureBudget budget = new ExposureBudget.PerValue(2, WINDOW, 16, clock::get);
+        assertTrue(budget.tryExpose("a"));
+        assertTrue(budget.tryExpose("a"));
+        assertFalse(budget.tryExpose("a"));
+        assertTrue(budget.tryExpose("b"));
+        clock.set(99);
+        assertFalse(budget.tryExpose("a"));
+        clock.set(100);
+        assertTrue(budget.tryExpose("a"));
+        clock.set(1000);
+        assertTrue(budget.tryExpose("a"));
+        assertFalse(new ExposureBudget.PerValue(0, WINDOW, 1, clock::get).tryExpose("a"));
+    }
+
+    @Test
+    void testShared() {
+        final ExposureBudget budget = new ExposureBudget.Shared(2, WINDOW, clock::get);
+        assertTrue(budget.tryExpose("a"));
+        assertTrue(budget.tryExpose("b"));
+        assertFalse(budget.tryExpose("c"));
+        clock.set(250);
+        assertTrue(budget.tryExpose("a"));
+    }
+
+    @Test
+    void testArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ExposureBudget.perValue(-1, WINDOW));
+        assertThrows(IllegalArgumentException.class, () -> ExposureBudget.perValue(1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ExposureBudget.perValue(1, WINDOW, 0));
+        assertThrows(IllegalArgumentException.class, () -> ExposureBudget.shared(1, Duration.ofSeconds(-1)));
+        assertNotNull(ExposureBudget.shared(1, WINDOW));
+    }
+
+    @Test
+    void testRendering() {
+        final ExposureBudget budget = new ExposureBudget.PerValue(2, WINDOW, 16, clock::get);
+        final Limited field = new Limited("123456789", budget);
+        final Limited other = new Limited("987654321", budget);
+        // Renditions that expose nothing are not counted
+        assertEquals("#########", field.toString());
+        assertEquals("#########", String.format("%.0s", field));
+        assertEquals("#####6789", String.format("%.4s", field));
+        assertEquals("#####6789", String.format("%.4s", field));
+        assertEquals("#########", String.format("%.4s", field));
+        assertEquals("   #########", String.format("%12.20s", field));
+        assertEquals("#####4321", String.format("%.4s", other));
+        clock.set(100);
+        assertEquals("#####6789", String.format("%.4s", field));
+        assertNull(new MaskedField("x").budget());
+    }
+
+    @Test
+    void testDefaultPrecision() {
+        final ExposureBudget budget = ExposureBudget.shared(1, Duration.ofDays(1));
+        final Sensitive<CharSequence> field = new Sensitive<>("4111111111111111") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return Redactor.limited(4, Redactor.mask());
+            }
+
+            @Override
+            protected ExposureBudget budget() {
+                return budget;
+            }
+        };
+        assertEquals("############1111", field.toString());
+        assertEquals("################", field.toString());
+        assertEquals("################", String.format("%s", field));
+        assertEquals("################", String.format("%.4s", field));
+
+        final Sensitive<CharSequence> spent = new Sensitive<>("4111111111111111") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return Redactor.limited(4, Redactor.mask());
+            }
+
+            @Override
+            protected ExposureBudget budget() {
+                return ExposureBudget.shared(0, Duration.ofDays(1));
+            }
+        };
+        assertEquals("################", String.format("%s", spent));
+        assertEquals("################", spent.toString());
+        assertEquals("################", String.format("%.4s", spent));
+    }
+
+    @Test
+    void testSharedStripes() {
+        // Every stripe is spent before any exposure is refused
+        final ExposureBudget budget = new ExposureBudget.Shared(100, WINDOW, clock::get);
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) if (budget.tryExpose("a")) allowed++;
+        assertEquals(100, allowed);
+        clock.set(100);
+        assertTrue(budget.tryExpose("a"));
+        assertFalse(new ExposureBudget.Shared(0, WINDOW, clock::get).tryExpose("a"));
+    }
+
+    @Test
+    void testExposesWithoutRendering() {
+        final int[] rendered = new int[1];
+        final Sensitive<CharSequence> field = new Sensitive<>("123456789") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return new Redactor<>() {
+                    @Override
+                    public CharSequence apply(final CharSequence t, final Integer precision) {
+                        rendered[0]++;
+                        return Redactor.mask().apply(t, precision);
+                    }
+
+                    @Override
+                    public boolean exposes(final CharSequence t, final int precision) {
+                        return precision > 0;
+                    }
+                };
+            }
+
+            @Override
+            protected ExposureBudget budget() {
+                return ExposureBudget.shared(0, Duration.ofDays(1));
+            }
+        };
+        assertEquals("#########", field.toString());
+        assertEquals("#########", String.format("%s", field));
+        assertEquals("#########", String.format("%.4s", field));
+        assertEquals(3, rendered[0]);
+
+        assertFalse(Redactor.mask().exposes("abc", -1));
+        assertTrue(Redactor.mask().exposes("abc", 1));
+        assertTrue(Redactor.limited(4, Redactor.mask()).exposes("abc", -1));
+        assertFalse(Redactor.defaulted(Redactor.mask()).exposes("a", -1));
+        assertFalse(Redactor.builder().max(0).mask().build().exposes("abc", 4));
+        assertFalse(Redactor.empty().exposes("abc", 4));
+        assertTrue(Redactor.of((CharSequence t, Integer p) -> t).exposes("abc", -1));
+    }
+
+    @Test
+    void testConcurrent() throws InterruptedException {
+        for (final ExposureBudget budget : new ExposureBudget[]{
+                ExposureBudget.perValue(1000, Duration.ofDays(1)), ExposureBudget.shared(1000, Duration.ofDays(1))}) {
+            final AtomicLong allowed = new AtomicLong();
+            final List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 10_000; i++) if (budget.tryExpose("value")) allowed.incrementAndGet();
+                }));
+            }
+            for (final Thread thread : threads) thread.start();
+            for (final Thread thread : threads) thread.join();
+            assertTrue(allowed.get() <= 1000);
+            assertTrue(allowed.get() > 0);
+        }
+    }
+}
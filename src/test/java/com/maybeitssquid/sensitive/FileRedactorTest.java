@@ -0,0 +1,124 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileRedactorTest {
+
+    private static String text(final int lines) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append("line ").append(i).append(" é card 4111 1111 1111 1111 ssn 123-45-6789");
+            if (i % 10 == 0) text.append(" and a much longer tail ".repeat(20));
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String redact(final FileRedactor redactor, final String text) throws IOException {
+        final Path in = Files.createTempFile("redactor", ".in");
+        final Path out = Files.createTempFile("redactor", ".out");
+        try {
+            Files.write(in, text.getBytes(StandardCharsets.UTF_8));
+            Files.write(out, new byte[text.length() * 4]);
+            final FileRedactor.Result result = redactor.redact(in, out);
+            final byte[] written = Files.readAllBytes(out);
+            assertEquals(Files.size(in), result.bytesRead());
+            assertEquals(written.length, result.bytesWritten());
+            assertTrue(result.bytesPerSecond() >= 0);
+            return new String(written, StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(in);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    void testOrder() throws IOException {
+        final NumberScanner scanner = new NumberScanner();
+        final String text = text(500);
+        final StringBuilder expected = new StringBuilder();
+        scanner.scan(text, expected);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int chunk : new int[]{1, 64, 1000, 1 << 20}) {
+                final FileRedactor redactor = new FileRedactor(scanner, StandardCharsets.UTF_8, chunk, pool, 3);
+                assertEquals(expected.toString(), redact(redactor, text), "chunk " + chunk);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLengthChanging() throws IOException {
+        final FileRedactor redactor = new FileRedactor(new NumberScanner((t, p) -> "[PAN]", 0),
+                StandardCharsets.UTF_8, 16, ForkJoinPool.commonPool(), 4);
+        assertEquals("a [PAN]\nb\n[PAN], [PAN]\nno newline",
+                redact(redactor, "a 4111111111111111\nb\n4111111111111111, 5555555555554444\nno newline"));
+    }
+
+    @Test
+    void testDefaults() throws IOException {
+        final FileRedactor redactor = new FileRedactor((in, out) -> out.append(in));
+        assertEquals("", redact(redactor, ""));
+        assertEquals("unchanged\n", redact(redactor, "unchanged\n"));
+    }
+
+    @Test
+    void testCharset() {
+        final TextScanner scanner = (in, out) -> out.append(in);
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileRedactor(scanner, StandardCharsets.UTF_16, 1024, ForkJoinPool.commonPool(), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileRedactor(scanner, StandardCharsets.UTF_8, 0, ForkJoinPool.commonPool(), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileRedactor(scanner, StandardCharsets.UTF_8, 1024, ForkJoinPool.commonPool(), 0));
+    }
+
+    @Test
+    void testScannerFailure() throws IOException {
+        final FileRedactor redactor = new FileRedactor((in, out) -> {
+            throw new IOException("boom");
+        }, StandardCharsets.UTF_8, 4, ForkJoinPool.commonPool(), 2);
+        final IOException e = assertThrows(IOException.class, () -> redact(redactor, text(20)));
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    void testFailureWaitsForStartedChunks() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final AtomicInteger running = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // The caller is interrupted while chunks are still being scanned
+            final FileRedactor redactor = new FileRedactor((in, out) -> {
+                running.incrementAndGet();
+                try {
+                    if (in.toString().startsWith("line 0 ")) caller.interrupt();
+                    Thread.sleep(50);
+                    out.append(in);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, StandardCharsets.UTF_8, 4, executor, 2);
+            assertThrows(IOException.class, () -> redact(redactor, text(20)));
+            assertTrue(Thread.interrupted());
+            assertEquals(0, running.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
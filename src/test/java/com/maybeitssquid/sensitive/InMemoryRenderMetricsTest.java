@@ -0,0 +1,108 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryRenderMetricsTest {
+
+    /**
+     * Loads the library in a class loader of its own that also sees the provider registered under {@code metrics/} in
+     * the test resources, so that only this test runs instrumented.
+     */
+    private static ClassLoader instrumented() {
+        final URL classes = RenderMetrics.class.getProtectionDomain().getCodeSource().getLocation();
+        final URL services = InMemoryRenderMetricsTest.class.getResource("/metrics/");
+        return new URLClassLoader(new URL[]{classes, services}, ClassLoader.getPlatformClassLoader());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object path(final ClassLoader loader, final String name) throws Exception {
+        return Enum.valueOf((Class) loader.loadClass(RenderMetrics.Path.class.getName()), name);
+    }
+
+    @Test
+    void testNotInstalledByDefault() {
+        assertSame(RenderMetrics.NONE, RenderMetrics.INSTALLED);
+    }
+
+    @Test
+    void testInstalled() throws Exception {
+        final ClassLoader loader = instrumented();
+        final Object installed = loader.loadClass(RenderMetrics.class.getName()).getField("INSTALLED").get(null);
+        assertSame(loader.loadClass(InMemoryRenderMetrics.class.getName()), installed.getClass());
+    }
+
+    @Test
+    void testRenditions() throws Exception {
+        final ClassLoader loader = instrumented();
+        final Class<?> type = loader.loadClass(MaskedField.class.getName());
+        final Class<?> paths = loader.loadClass(RenderMetrics.Path.class.getName());
+        final Class<?> metricsType = loader.loadClass(InMemoryRenderMetrics.class.getName());
+        final Object metrics = loader.loadClass(RenderMetrics.class.getName()).getField("INSTALLED").get(null);
+        final Method byType = metricsType.getMethod("count", Class.class);
+        final Method byPath = metricsType.getMethod("count", paths);
+        final Method byRedactor = metricsType.getMethod("count", boolean.class);
+        final Method byBucket = metricsType.getMethod("countBucket", int.class);
+        final Method format = loader.loadClass(RedactingMessageFormatter.class.getName())
+                .getMethod("format", StringBuilder.class, String.class, Object[].class);
+
+        final Object value = type.getConstructor(CharSequence.class).newInstance("123456789");
+        assertEquals("#########", value.toString());
+        assertEquals("#####6789", String.format("%.4s", value));
+        assertEquals("#########", String.format("%#s", value));
+        assertEquals("123456789", String.format("%.20s", value));
+        assertEquals("#########", format.invoke(null, new StringBuilder(), "{}", new Object[]{value}).toString());
+
+        assertEquals(5L, byType.invoke(metrics, type));
+        assertEquals(1L, byPath.invoke(metrics, path(loader, "TO_STRING")));
+        assertEquals(3L, byPath.invoke(metrics, path(loader, "FORMAT")));
+        assertEquals(1L, byPath.invoke(metrics, path(loader, "APPEND")));
+        assertEquals(1L, byRedactor.invoke(metrics, true));
+        assertEquals(3L, byBucket.invoke(metrics, 0));
+        assertEquals(1L, byBucket.invoke(metrics, 2));
+        assertEquals(1L, byBucket.invoke(metrics, 5));
+
+        // Renditions outside the instrumented class loader are not counted
+        assertEquals("#########", new MaskedField("123456789").toString());
+        assertEquals(1L, byPath.invoke(metrics, path(loader, "TO_STRING")));
+    }
+
+    @Test
+    void testBuckets() {
+        assertEquals(0, InMemoryRenderMetrics.bucket(-1));
+        assertEquals(1, InMemoryRenderMetrics.bucket(0));
+        assertEquals(2, InMemoryRenderMetrics.bucket(1));
+        assertEquals(2, InMemoryRenderMetrics.bucket(4));
+        assertEquals(3, InMemoryRenderMetrics.bucket(5));
+        assertEquals(3, InMemoryRenderMetrics.bucket(8));
+        assertEquals(4, InMemoryRenderMetrics.bucket(16));
+        assertEquals(5, InMemoryRenderMetrics.bucket(17));
+    }
+
+    @Test
+    void testSampling() {
+        final InMemoryRenderMetrics always = new InMemoryRenderMetrics(1);
+        final InMemoryRenderMetrics never = new InMemoryRenderMetrics(0);
+        assertTrue(always.sample());
+        assertFalse(never.sample());
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryRenderMetrics(-1));
+
+        always.rendered(String.class, RenderMetrics.Path.FORMAT, false, 4, 1000);
+        always.rendered(String.class, RenderMetrics.Path.FORMAT, false, 4, -1);
+        final long[] latencies = always.latencies();
+        assertEquals(1, Arrays.stream(latencies).sum());
+        assertEquals(1, latencies[9]);
+        assertEquals(2, always.count(String.class));
+
+        always.reset();
+        assertEquals(0, always.count(String.class));
+        assertEquals(0, always.count(RenderMetrics.Path.FORMAT));
+        assertEquals(0, Arrays.stream(always.latencies()).sum());
+    }
+}
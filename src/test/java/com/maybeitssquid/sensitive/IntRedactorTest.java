@@ -0,0 +1,90 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntRedactorTest {
+
+    /**
+     * A redactor that fails if its boxed path is used.
+     */
+    private static final class PrimitiveOnly implements Redactor<CharSequence> {
+        @Override
+        public CharSequence apply(final CharSequence t, final Integer p) {
+            throw new UnsupportedOperationException("boxed path used");
+        }
+
+        @Override
+        public CharSequence redact(final CharSequence t, final int p) {
+            return "[" + p + "]";
+        }
+    }
+
+    @Test
+    void testLimited() {
+        final Redactor<CharSequence> test = IntRedactor.limited(CharSequence::length, Redactor.mask());
+        assertEquals("##cd", test.apply("abcd", -1));
+        assertEquals("###d", test.redact("abcd", 1));
+        assertEquals("##cd", test.redact("abcd", 3));
+    }
+
+    @Test
+    void testDefaulted() {
+        final Redactor<CharSequence> test = IntRedactor.defaulted(CharSequence::length, Redactor.mask());
+        assertEquals("##cd", test.apply("abcd", -1));
+        assertEquals("###d", test.redact("abcd", 1));
+        assertEquals("#bcd", test.redact("abcd", 3));
+    }
+
+    @Test
+    void testFrom() {
+        final IntRedactor<CharSequence> plain = (t, p) -> t + ":" + p;
+        final Redactor<CharSequence> test = Redactor.from(plain);
+        assertEquals("a:1000", test.apply("a", 1000));
+        assertEquals("a:1000", test.redact("a", 1000));
+
+        final Redactor<CharSequence> mask = Redactor.mask();
+        assertSame(mask, Redactor.from(mask));
+    }
+
+    @Test
+    void testOf() {
+        final class Both implements IntRedactor<CharSequence>, BiFunction<CharSequence, Integer, CharSequence> {
+            @Override
+            public CharSequence apply(final CharSequence t, final Integer p) {
+                throw new UnsupportedOperationException("boxed path used");
+            }
+
+            @Override
+            public CharSequence redact(final CharSequence t, final int p) {
+                return "ok";
+            }
+        }
+        assertEquals("ok", Redactor.of(new Both()).redact("a", 1));
+    }
+
+    @Test
+    void testSensitiveUsesPrimitivePath() {
+        final Sensitive<CharSequence> test = new Sensitive<>("abc") {
+            @Override
+            protected BiFunction<CharSequence, Integer, CharSequence> redactor() {
+                return new PrimitiveOnly();
+            }
+        };
+        assertEquals("[-1]", test.toString());
+        assertEquals("[1000]", String.format("%.1000s", test));
+        assertEquals("  [2]", String.format("%5.2s", test));
+        assertEquals("[2]  ", String.format("%-5.2S", test));
+        assertEquals("[-1]", String.format("%#s", test));
+    }
+
+    @Test
+    void testLimitedUsesPrimitivePath() {
+        final Redactor<CharSequence> test = Redactor.limited(4, Redactor.from(new PrimitiveOnly()::redact));
+        assertEquals("[4]", test.redact("abc", 1000));
+        assertEquals("[4]", test.apply("abc", -1));
+    }
+}
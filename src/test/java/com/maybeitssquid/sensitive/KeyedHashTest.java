@@ -0,0 +1,59 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedHashTest {
+
+    @Test
+    void testContent() {
+        assertEquals(KeyedHash.hashCode("secret"), KeyedHash.hashCode(new StringBuilder("secret")));
+        assertEquals(KeyedHash.hashCode("secret"), KeyedHash.hashCode(CharBuffer.wrap("secret")));
+        assertEquals(KeyedHash.hashCode("secret"), KeyedHash.hashCode("secret".toCharArray()));
+        assertEquals(KeyedHash.hashCode(new byte[]{1, 2, 3}), KeyedHash.hashCode(new byte[]{1, 2, 3}));
+        assertEquals(KeyedHash.hashCode(new Object[]{"a", 1, null}), KeyedHash.hashCode(new Object[]{"a", 1, null}));
+        assertNotEquals(KeyedHash.hashCode(""), KeyedHash.hashCode("\0"));
+        assertNotEquals(KeyedHash.hashCode(new byte[0]), KeyedHash.hashCode(new byte[1]));
+    }
+
+    @Test
+    void testKey() {
+        final long a = new KeyedHash(1, 2).hash("secret");
+        assertEquals(a, new KeyedHash(1, 2).hash("secret".toCharArray()));
+        assertNotEquals(a, new KeyedHash(1, 3).hash("secret"));
+        assertNotEquals(a, new KeyedHash(1, 2).hash("secreu"));
+    }
+
+    @Test
+    void testCollisions() {
+        // "Aa" and "BB" collide under String.hashCode, so every string built from them does too
+        final Set<Integer> hashes = new HashSet<>();
+        final String[] parts = {"Aa", "BB"};
+        for (int i = 0; i < 1024; i++) {
+            final StringBuilder s = new StringBuilder();
+            for (int bit = 0; bit < 10; bit++) s.append(parts[i >> bit & 1]);
+            hashes.add(KeyedHash.hashCode(s));
+        }
+        assertTrue(hashes.size() > 1000);
+    }
+
+    @Test
+    void testEquals() {
+        assertTrue(KeyedHash.equals("secret", new StringBuilder("secret")));
+        assertFalse(KeyedHash.equals("secret", "secreT"));
+        assertFalse(KeyedHash.equals("secret", "secrets"));
+        assertTrue(KeyedHash.equals(new char[]{'a'}, new char[]{'a'}));
+        assertFalse(KeyedHash.equals(new char[]{'a'}, new char[]{'b'}));
+        assertTrue(KeyedHash.equals(new byte[]{1, 2}, new byte[]{1, 2}));
+        assertFalse(KeyedHash.equals(new byte[]{1, 2}, new byte[]{1, 3}));
+        assertTrue(KeyedHash.equals(new Object[]{"a", 1}, new Object[]{"a", 1}));
+        assertFalse(KeyedHash.equals(new Object[]{"a", 1}, new Object[]{"a", 2}));
+        assertTrue(KeyedHash.equals(1, 1));
+        assertFalse(KeyedHash.equals("1", 1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskRunsTest {
+
+    @Test
+    void testRun() {
+        assertEquals("", MaskRuns.run('#', 0));
+        assertEquals("###", MaskRuns.run('#', 3));
+        assertEquals("*".repeat(MaskRuns.CACHED_LENGTH), MaskRuns.run('*', MaskRuns.CACHED_LENGTH));
+        assertEquals("x".repeat(MaskRuns.CACHED_LENGTH + 1), MaskRuns.run('x', MaskRuns.CACHED_LENGTH + 1));
+        assertEquals("••", MaskRuns.run('•', 2));
+    }
+
+    @Test
+    void testRunShared() {
+        assertSame(MaskRuns.run('#', 9), MaskRuns.run('#', 9));
+        assertSame(MaskRuns.run('-', 4), MaskRuns.run('-', 4));
+        assertSame(MaskRuns.run('#', 9), Redactor.mask().apply("test case", -1));
+    }
+
+    @Test
+    void testAppend() throws Exception {
+        for (final int length : new int[]{0, 1, MaskRuns.CACHED_LENGTH, MaskRuns.CACHED_LENGTH + 1, 3 * MaskRuns.CACHED_LENGTH + 7}) {
+            assertEquals("#".repeat(length), MaskRuns.append(new StringBuilder(), '#', length).toString());
+            final StringBuilder out = new StringBuilder();
+            MaskRuns.append((Appendable) out, '•', length);
+            assertEquals("•".repeat(length), out.toString());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskedFieldFactoryTest {
+
+    @Test
+    void testSharedRedactor() {
+        final MaskedFieldFactory factory = new MaskedFieldFactory('*');
+        final MaskedField a = factory.field("secret");
+        final MaskedField b = factory.field("secret");
+        assertNotSame(a, b);
+        assertSame(a.redactor(), b.redactor());
+        assertSame(a.redactor(), new MaskedField("other", '*').redactor());
+        assertSame(Redactor.mask(), Redactor.mask());
+        assertNotSame(Redactor.mask('*'), Redactor.mask('#'));
+        assertEquals("****et", String.format("%.2s", a));
+        assertEquals("######", new MaskedFieldFactory().field("secret").toString());
+    }
+
+    @Test
+    void testWeak() {
+        final MaskedFieldFactory factory = new MaskedFieldFactory('*', true);
+        final MaskedField a = factory.field("secret");
+        assertSame(a, factory.field(new StringBuilder("secret")));
+        assertNotEquals(a, factory.field("secreT"));
+        assertNotSame(a, factory.field("secret2"));
+        assertTrue(a.keyed());
+        assertEquals("******", a.toString());
+        assertNotSame(a, new MaskedFieldFactory('*', false).field("secret"));
+    }
+
+    @Test
+    void testBounded() {
+        final MaskedFieldFactory factory = new MaskedFieldFactory('*', 16);
+        final MaskedField a = factory.field("secret");
+        assertSame(a, factory.field(new StringBuilder("secret")));
+        assertNotEquals(a, factory.field("secreT"));
+        assertEquals(a, factory.field("secret"));
+        assertEquals("******", a.toString());
+        // The table never holds more than its capacity, so old values are eventually evicted
+        for (int i = 0; i < 1000; i++) factory.field("value" + i);
+        final MaskedField b = factory.field("secret");
+        assertEquals(a, b);
+        assertThrows(IllegalArgumentException.class, () -> new MaskedFieldFactory('*', 0));
+    }
+}
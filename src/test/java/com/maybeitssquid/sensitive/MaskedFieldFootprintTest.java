@@ -0,0 +1,53 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the retained heap of a cache of fields that wrap a small number of distinct values.
+ */
+public class MaskedFieldFootprintTest {
+
+    private static final int FIELDS = 10_000;
+
+    private static final int DISTINCT = 100;
+
+    /** Builds each value as a new string, as values parsed from input would be. */
+    private static String value(final int i) {
+        return new StringBuilder("merchant-").append(i % DISTINCT).toString();
+    }
+
+    private static long perField(final List<MaskedField> fields) {
+        return GraphLayout.parseInstance(fields.toArray()).totalSize() / fields.size();
+    }
+
+    @Test
+    void testFootprint() {
+        final List<MaskedField> plain = new ArrayList<>(FIELDS);
+        for (int i = 0; i < FIELDS; i++) plain.add(new MaskedField(value(i), '*'));
+
+        final MaskedFieldFactory weak = new MaskedFieldFactory('*', true);
+        final List<MaskedField> weakInterned = new ArrayList<>(FIELDS);
+        for (int i = 0; i < FIELDS; i++) weakInterned.add(weak.field(value(i)));
+
+        final MaskedFieldFactory bounded = new MaskedFieldFactory('*', 4 * DISTINCT);
+        final List<MaskedField> boundedInterned = new ArrayList<>(FIELDS);
+        for (int i = 0; i < FIELDS; i++) boundedInterned.add(bounded.field(value(i)));
+
+        final long before = perField(plain);
+        final long afterWeak = perField(weakInterned);
+        final long afterBounded = perField(boundedInterned);
+        System.out.printf("Bytes per field: %d plain, %d weak interned, %d bounded interned%n",
+                before, afterWeak, afterBounded);
+
+        // Each plain field retains its own wrapper and string, but shares its redactor
+        assertTrue(GraphLayout.parseInstance(plain.get(0)).totalSize() < 2 * before);
+        assertTrue(afterWeak < before / 4);
+        assertTrue(afterBounded < before / 2);
+    }
+}
@@ -2,6 +2,10 @@ package com.maybeitssquid.sensitive;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -38,8 +42,58 @@ public class MaskedFieldTest {
         assertEquals("test case   ", String.format("%-12.12s", test));
     }
 
+    @Test
+    void testFormatToUpperCase() {
+        final MaskedField test = new MaskedField("straße");
+        assertEquals("STRASSE", String.format(Locale.ROOT, "%.6S", test));
+        assertEquals("  ###ASSE", String.format(Locale.ROOT, "%9.3S", test));
+        assertEquals("###ASSE  ", String.format(Locale.ROOT, "%-9.3S", test));
+
+        final MaskedField turkish = new MaskedField("kimlik");
+        assertEquals("##MLİK", String.format(new Locale("tr"), "%.4S", turkish));
+        assertEquals("##MLIK", String.format(Locale.ROOT, "%.4S", turkish));
+    }
+
+    @Test
+    void testMemoize() {
+        assertFalse(new MaskedField(field).memoize());
+        assertFalse(new MaskedField(field, '*').memoize());
+
+        final MaskedField test = new MaskedField(field, '*', true);
+        assertTrue(test.memoize());
+        assertEquals("*********", test.toString());
+        assertEquals("*****case", String.format("%.4s", test));
+        assertEquals("   *****CASE", String.format("%12.4S", test));
+    }
+
     @Test
     void testToString() {
         assertEquals("#########", new MaskedField(field).toString());
     }
+
+    @Test
+    void testKeyed() {
+        assertFalse(new MaskedField(field).keyed());
+        final MaskedField test = new MaskedField(field, '*', false, true);
+        assertTrue(test.keyed());
+        assertEquals(test.hashCode(), test.hashCode());
+        assertEquals(test.hashCode(), new MaskedField(new StringBuilder(field), '*', false, true).hashCode());
+        assertNotEquals(field.hashCode(), test.hashCode());
+        assertEquals(test, new MaskedField(new StringBuilder(field), '*', false, true));
+        assertNotEquals(test, new MaskedField(field + "x", '*', false, true));
+        assertEquals("*********", test.toString());
+    }
+
+    @Test
+    void testKeyedNotEqualToUnkeyed() {
+        final MaskedField keyed = new MaskedField("4111", '#', false, true);
+        final MaskedField plain = new MaskedField("4111");
+        assertNotEquals(keyed, plain);
+        assertNotEquals(plain, keyed);
+        final Set<MaskedField> set = new HashSet<>();
+        set.add(keyed);
+        assertTrue(set.contains(new MaskedField("4111", '#', false, true)));
+        assertFalse(set.contains(plain));
+        assertTrue(new MaskedFieldFactory('#', 16).field("4111").equals(new MaskedField("4111", '#', false, true)));
+    }
 }
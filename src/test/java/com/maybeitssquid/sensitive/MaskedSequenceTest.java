@@ -0,0 +1,48 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskedSequenceTest {
+
+    private final MaskedSequence test = new MaskedSequence("abcdef", 0, 6, 4, '*');
+
+    @Test
+    void testLength() {
+        assertEquals(6, test.length());
+        assertEquals(0, new MaskedSequence("abc", 0, 0, 0, '*').length());
+    }
+
+    @Test
+    void testCharAt() {
+        assertEquals('*', test.charAt(0));
+        assertEquals('*', test.charAt(3));
+        assertEquals('e', test.charAt(4));
+        assertEquals('f', test.charAt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> test.charAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> test.charAt(6));
+    }
+
+    @Test
+    void testSubSequence() {
+        assertEquals("**", test.subSequence(0, 2).toString());
+        assertEquals("**ef", test.subSequence(2, 6).toString());
+        assertEquals("ef", test.subSequence(4, 6).toString());
+        assertEquals("f", test.subSequence(4, 6).subSequence(1, 2).toString());
+        assertEquals("", test.subSequence(3, 3).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> test.subSequence(4, 7));
+        assertThrows(IndexOutOfBoundsException.class, () -> test.subSequence(4, 3));
+    }
+
+    @Test
+    void testChars() {
+        assertEquals("****ef", test.chars().collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("****ef", test.toString());
+        assertEquals("****ef", new StringBuilder().append(test).toString());
+    }
+}
@@ -0,0 +1,151 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberScannerTest {
+
+    private final NumberScanner scanner = new NumberScanner();
+
+    private String scan(final CharSequence in) throws IOException {
+        final StringBuilder out = new StringBuilder();
+        scanner.scan(in, out);
+        return out.toString();
+    }
+
+    @Test
+    void testCardNumbers() throws IOException {
+        assertEquals("card ############1111.", scan("card 4111111111111111."));
+        assertEquals("card ###############1111 ok", scan("card 4111-1111-1111-1111 ok"));
+        assertEquals("(###########0005)", scan("(378282246310005)"));
+        assertEquals("###############4444", scan("5555 5555 5555 4444"));
+    }
+
+    @Test
+    void testRejectsCards() throws IOException {
+        // Luhn failure
+        assertEquals("card 4111111111111112.", scan("card 4111111111111112."));
+        // Attached to letters or digits
+        assertEquals("id4111111111111111", scan("id4111111111111111"));
+        assertEquals("4111111111111111x", scan("4111111111111111x"));
+        // Too short and too long
+        assertEquals("411111111111", scan("411111111111"));
+        assertEquals("41111111111111111111111", scan("41111111111111111111111"));
+        // Doubled separator ends the run
+        assertEquals("4111--1111111111111111", scan("4111--1111111111111111"));
+    }
+
+    @Test
+    void testAdjacentNumbers() throws IOException {
+        assertEquals("pan ############1111 100 USD", scan("pan 4111111111111111 100 USD"));
+        assertEquals("qty 3 ############1111", scan("qty 3 4111111111111111"));
+        assertEquals("ssn #######6789 2 times", scan("ssn 123-45-6789 2 times"));
+        assertEquals("###############1111 2024", scan("4111 1111 1111 1111 2024"));
+        assertEquals("1 2 ############1111 3", scan("1 2 4111111111111111 3"));
+        assertEquals("#######6789 ############1111", scan("123-45-6789 4111111111111111"));
+        assertEquals("12345678901234567890123 ############1111", scan("12345678901234567890123 4111111111111111"));
+        assertEquals("99 99 99 99 99 99 99 99 99 99 ############1111 99",
+                scan("99 99 99 99 99 99 99 99 99 99 4111111111111111 99"));
+        assertEquals("x4111111111111111 ############1111", scan("x4111111111111111 4111111111111111"));
+    }
+
+    @Test
+    void testSocialSecurityNumbers() throws IOException {
+        assertEquals("ssn=#######6789;", scan("ssn=123-45-6789;"));
+        assertEquals("ssn #######6789", scan("ssn 123 45 6789"));
+        assertEquals("#####6789", scan("123456789"));
+        assertEquals("000-45-6789 666-45-6789 912-45-6789", scan("000-45-6789 666-45-6789 912-45-6789"));
+        assertEquals("123-00-6789 123-45-0000", scan("123-00-6789 123-45-0000"));
+        assertEquals("12-345-6789, 123-45 6789", scan("12-345-6789, 123-45 6789"));
+    }
+
+    @Test
+    void testPlainText() throws IOException {
+        final String text = "2024-01-15 call 555-123-4567 - order 42 -- done ";
+        assertEquals(text, scan(text));
+        assertEquals("", scan(""));
+    }
+
+    @Test
+    void testTrailingSeparator() throws IOException {
+        assertEquals("#######6789- next", scan("123-45-6789- next"));
+        assertEquals("#######6789 ", scan("123-45-6789 "));
+    }
+
+    @Test
+    void testRedactor() throws IOException {
+        final NumberScanner scanner = new NumberScanner(Redactor.mask('*'), 0);
+        final StringBuilder out = new StringBuilder();
+        scanner.scan("a 123-45-6789 b", out);
+        assertEquals("a *********** b", out.toString());
+    }
+
+    /**
+     * Reader that returns one character at a time so that every candidate spans several reads.
+     */
+    private static final class TrickleReader extends Reader {
+        private final Reader in;
+
+        TrickleReader(final String text) {
+            this.in = new StringReader(text);
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            return in.read(buffer, offset, Math.min(1, length));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    @Test
+    void testReader() throws IOException {
+        final String text = "x 4111 1111 1111 1111, y 123-45-6789, z 41111111111111111111111 4111111111111112\n";
+        final StringBuilder out = new StringBuilder();
+        scanner.scan(new TrickleReader(text), out);
+        assertEquals(scan(text), out.toString());
+        out.setLength(0);
+        scanner.scan(new StringReader(text), out);
+        assertEquals("x ###############1111, y #######6789, z 41111111111111111111111 4111111111111112\n",
+                out.toString());
+    }
+
+    @Test
+    void testMappedFile() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) text.append("é ").append(i).append(": 4111111111111111 ü 123456789\n");
+        final Path file = Files.createTempFile("scanner", ".txt");
+        try {
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder out = new StringBuilder();
+            scanner.scan(file, StandardCharsets.UTF_8, out);
+            assertEquals(scan(text), out.toString());
+            assertFalse(out.toString().contains("4111111111111111"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        final Path file = Files.createTempFile("scanner", ".txt");
+        try {
+            final StringBuilder out = new StringBuilder();
+            scanner.scan(file, StandardCharsets.UTF_8, out);
+            assertEquals("", out.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapArenaTest {
+
+    @Test
+    void testField() {
+        final OffHeapArena arena = new OffHeapArena(16);
+        final OffHeapField first = arena.field("123456789");
+        final OffHeapField second = arena.field("abcd", '*');
+        assertEquals(3, arena.remaining());
+
+        assertEquals("#####6789", String.format("%.4s", first));
+        assertEquals("**cd", String.format("%.2s", second));
+        assertEquals(new OffHeapField("123456789"), first);
+        assertEquals(new OffHeapField("123456789").hashCode(), first.hashCode());
+        assertThrows(NullPointerException.class, () -> arena.field(null));
+    }
+
+    @Test
+    void testFull() {
+        final OffHeapArena arena = new OffHeapArena(4);
+        arena.field("abc");
+        assertThrows(IllegalStateException.class, () -> arena.field("de"));
+        assertNotNull(arena.field("d"));
+        assertEquals(0, arena.remaining());
+    }
+
+    @Test
+    void testCloseField() {
+        final OffHeapArena arena = new OffHeapArena(8);
+        final OffHeapField first = arena.field("abcd");
+        final OffHeapField second = arena.field("efgh");
+        first.close();
+        assertEquals("\0\0\0\0", String.format("%.4s", first));
+        assertEquals("efgh", String.format("%.4s", second));
+    }
+
+    @Test
+    void testClose() {
+        final OffHeapArena arena = new OffHeapArena(8);
+        final OffHeapField first = arena.field("abcd");
+        final OffHeapField second = arena.field("efgh");
+        arena.close();
+        assertEquals("\0\0\0\0", String.format("%.4s", first));
+        assertEquals("\0\0\0\0", String.format("%.4s", second));
+        assertThrows(IllegalStateException.class, () -> arena.field("a"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapFieldTest {
+    static final String field = "test case";
+
+    @SuppressWarnings("all")
+    @Test
+    void testOffHeapField() {
+        assertNotNull(new OffHeapField(""));
+        assertThrows(NullPointerException.class, () -> new OffHeapField((CharSequence) null));
+    }
+
+    @Test
+    void testFormatTo() {
+        final OffHeapField test = new OffHeapField(field);
+        assertEquals("#########", test.toString());
+        assertEquals("#####case", String.format("%.4s", test));
+        assertEquals("   ###T CASE", String.format("%12.6S", test));
+        assertEquals("test case", String.format("%.9s", test));
+        assertEquals("*******se", String.format("%.2s", new OffHeapField(field, '*')));
+    }
+
+    @Test
+    void testHashCode() {
+        assertEquals(new OffHeapField(field).hashCode(), new OffHeapField(field).hashCode());
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    void testEquals() {
+        final OffHeapField test = new OffHeapField(field);
+        assertTrue(test.equals(test));
+        assertFalse(test.equals(null));
+        assertFalse(test.equals(new MaskedField(field)));
+        assertTrue(test.equals(new OffHeapField(field)));
+        assertFalse(test.equals(new OffHeapField("other")));
+    }
+
+    @Test
+    void testClose() {
+        final OffHeapField test = new OffHeapField(field);
+        test.close();
+        assertEquals("\0".repeat(field.length()), String.format("%.9s", test));
+        assertNotEquals(new OffHeapField(field), test);
+    }
+}
@@ -0,0 +1,86 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactingMessageFormatterTest {
+
+    /**
+     * Minimal in-memory appender that formats each event into one reused buffer, as garbage-free loggers do.
+     */
+    private static final class MemoryAppender {
+        private final StringBuilder buffer = new StringBuilder();
+        private final List<String> events = new ArrayList<>();
+
+        void log(final String pattern, final Object... args) {
+            buffer.setLength(0);
+            events.add(RedactingMessageFormatter.format(buffer, Locale.ROOT, pattern, args).toString());
+        }
+    }
+
+    private final MaskedField ssn = new MaskedField("123-45-6789");
+
+    private static String format(final String pattern, final Object... args) {
+        return RedactingMessageFormatter.format(new StringBuilder(), Locale.ROOT, pattern, args).toString();
+    }
+
+    @Test
+    void testPlaceholders() {
+        assertEquals("ssn=###########", format("ssn={}", ssn));
+        assertEquals("a=1, b=2", format("a={}, b={}", 1, "2"));
+        assertEquals("a=null", format("a={}", (Object) null));
+        assertEquals("a=1, b={}", format("a={}, b={}", 1));
+        assertEquals("no args {}", format("no args {}"));
+        assertEquals("literal {} then 1", format("literal \\{} then {}", 1));
+        assertEquals("{x} 1", format("{x} {}", 1));
+        assertEquals("{.} 1", format("{.} {}", 1));
+        assertEquals("{-} 1", format("{-} {}", 1));
+    }
+
+    @Test
+    void testSensitiveSpecification() {
+        assertEquals(String.format(Locale.ROOT, "%.4s", ssn), format("{.4}", ssn));
+        assertEquals(String.format(Locale.ROOT, "%14.4s", ssn), format("{14.4}", ssn));
+        assertEquals(String.format(Locale.ROOT, "%-14.4S|", ssn), format("{-14.4S}|", ssn));
+        assertEquals(String.format(Locale.ROOT, "%#s", ssn), format("{#}", ssn));
+        assertEquals(String.format(Locale.ROOT, "%.11s", ssn), format("{.11}", ssn));
+        assertEquals("{-} ###########", format("{-} {}", ssn));
+        assertEquals("{#-S} {-.4} ###########", format("{#-S} {-.4} {}", ssn));
+        assertEquals("{.\u0664} ###########", format("{.\u0664} {}", ssn));
+        assertEquals("{\u0664\u0664} ###########", format("{\u0664\u0664} {}", ssn));
+        assertEquals("{4294967297} ###########", format("{4294967297} {}", ssn));
+        assertEquals("{.99999999999} ###########", format("{.99999999999} {}", ssn));
+        assertEquals(String.format(Locale.ROOT, "%.2147483647s", ssn), format("{.2147483647}", ssn));
+    }
+
+    @Test
+    void testPlainSpecification() {
+        assertEquals(String.format(Locale.ROOT, "%.2s", "abcd"), format("{.2}", "abcd"));
+        assertEquals(String.format(Locale.ROOT, "%6s|%-6S|", "abcd", "abcd"), format("{6}|{-6S}|", "abcd", "abcd"));
+    }
+
+    @Test
+    void testOverriddenFormatTo() {
+        final Sensitive<String> custom = new Sensitive<>("x") {
+            @Override
+            public void formatTo(final Formatter formatter, final int flags, final int width, final int precision) {
+                formatter.format("[%d]", precision);
+            }
+        };
+        assertEquals("v=[3]", format("v={.3}", custom));
+    }
+
+    @Test
+    void testAppender() {
+        final MemoryAppender appender = new MemoryAppender();
+        appender.log("login user={} ssn={.4}", "alice", ssn);
+        appender.log("card={-20.4}|", new MaskedField("4111111111111111", '*'));
+        assertEquals(List.of("login user=alice ssn=#######6789", "card=************1111    |"), appender.events);
+    }
+}
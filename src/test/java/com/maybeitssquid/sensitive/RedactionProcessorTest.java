@@ -0,0 +1,139 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactionProcessorTest {
+
+    static class Customer {
+        final String name;
+        @Masked(expose = 4)
+        final String ssn;
+        @Masked(mask = '*')
+        final CharSequence pin;
+        @Redacted
+        final String password;
+        @Redacted("<hidden \"x\">")
+        final String note;
+        final int age;
+        transient String cached = "skipped";
+        static String shared = "skipped";
+
+        Customer(final String name, final String ssn, final CharSequence pin, final String password,
+                 final String note, final int age) {
+            this.name = name;
+            this.ssn = ssn;
+            this.pin = pin;
+            this.password = password;
+            this.note = note;
+            this.age = age;
+        }
+
+        @Override
+        public String toString() {
+            return RedactionProcessorTest_CustomerRenderer.toString(this);
+        }
+    }
+
+    static class Account {
+        @Masked(expose = 2, mask = 'x')
+        private final String number;
+        private final boolean active;
+
+        Account(final String number, final boolean active) {
+            this.number = number;
+            this.active = active;
+        }
+
+        String getNumber() {
+            return number;
+        }
+
+        boolean isActive() {
+            return active;
+        }
+    }
+
+    @Test
+    void testRender() {
+        final Customer customer = new Customer("Ann", "123-45-6789", "1234", "secret", "note", 42);
+        assertEquals("Customer{name=Ann, ssn=#######6789, pin=****, password=[REDACTED], "
+                + "note=<hidden \"x\">, age=42}", customer.toString());
+    }
+
+    @Test
+    void testNulls() {
+        final Customer customer = new Customer(null, null, null, null, null, 0);
+        assertEquals("Customer{name=null, ssn=null, pin=null, password=[REDACTED], "
+                + "note=<hidden \"x\">, age=0}", customer.toString());
+        assertEquals("null", RedactionProcessorTest_CustomerRenderer.toString(null));
+    }
+
+    @Test
+    void testShortValue() {
+        final Customer customer = new Customer("Bo", "12", "", "", "", 1);
+        assertTrue(customer.toString().contains("ssn=12, pin=, "));
+    }
+
+    @Test
+    void testAccessors() {
+        final Account account = new Account("98765", true);
+        assertEquals("Account{number=xxx65, active=true}", RedactionProcessorTest_AccountRenderer.toString(account));
+    }
+
+    @Test
+    void testAppendTo() {
+        final StringBuilder out = new StringBuilder("[");
+        assertSame(out, RedactionProcessorTest_AccountRenderer.appendTo(out, new Account("1", false)));
+        assertEquals("[Account{number=1, active=false}", out.toString());
+    }
+
+    /** Compiles a source file with the processor and collects the error messages. */
+    private static List<String> errors(final String className, final String source) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final Path out = Files.createTempDirectory("processor");
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                List.of("-proc:only", "-classpath", System.getProperty("java.class.path"), "-s", out.toString()),
+                null, List.of(file));
+        task.setProcessors(List.of(new RedactionProcessor()));
+        task.call();
+        final List<String> errors = new ArrayList<>();
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) errors.add(diagnostic.getMessage(null));
+        }
+        return errors;
+    }
+
+    @Test
+    void testInaccessibleClasses() throws IOException {
+        assertEquals(List.of("Private classes, and classes nested in them, cannot be rendered"), errors("Outer",
+                "class Outer { private static class Inner { @com.maybeitssquid.sensitive.Masked String ssn; } }"));
+        assertEquals(List.of("Private classes, and classes nested in them, cannot be rendered"), errors("Outer",
+                "class Outer { private static class Middle { static class Inner {"
+                        + " @com.maybeitssquid.sensitive.Redacted String password; } } }"));
+        assertEquals(List.of(), errors("Outer",
+                "class Outer { static class Inner { @com.maybeitssquid.sensitive.Masked String ssn; } }"));
+    }
+}
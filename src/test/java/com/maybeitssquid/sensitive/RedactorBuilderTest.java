@@ -0,0 +1,78 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RedactorBuilderTest {
+
+    private static final String[] VALUES = {"", "a", "abc", "test case", "4111111111111111"};
+
+    private static void assertEquivalent(final BiFunction<CharSequence, Integer, CharSequence> expected,
+                                         final Redactor<CharSequence> actual) throws Exception {
+        for (final String value : VALUES) {
+            for (int p = -1; p <= value.length() + 1; p++) {
+                final String message = value + " at " + p;
+                assertEquals(expected.apply(value, p).toString(), actual.apply(value, p).toString(), message);
+                final StringBuilder out = new StringBuilder();
+                actual.redactTo(out, value, p);
+                assertEquals(expected.apply(value, p).toString(), out.toString(), message);
+                assertEquals(value.length(), actual.redactedLength(value, p));
+            }
+        }
+    }
+
+    @Test
+    void testMask() throws Exception {
+        assertEquivalent(Redactor.mask(), Redactor.builder().build());
+        assertEquivalent(Redactor.mask('*'), Redactor.builder().mask('*').build());
+        assertEquivalent(Redactor.mask(), Redactor.builder().mask('*').mask().build());
+    }
+
+    @Test
+    void testSingleStep() throws Exception {
+        assertEquivalent(Redactor.limited(4, Redactor.mask()), Redactor.builder().max(4).build());
+        assertEquivalent(Redactor.limited(0, Redactor.mask()), Redactor.builder().max(0).build());
+        assertEquivalent(Redactor.limited(Redactor.mask()), Redactor.builder().limitHalf().build());
+        assertEquivalent(Redactor.defaulted(Redactor.mask()), Redactor.builder().defaultHalf().build());
+    }
+
+    @Test
+    void testChains() throws Exception {
+        assertEquivalent(Redactor.limited(4, Redactor.defaulted(Redactor.mask('*'))),
+                Redactor.builder().max(4).defaultHalf().mask('*').build());
+        assertEquivalent(Redactor.defaulted(Redactor.limited(4, Redactor.mask())),
+                Redactor.builder().defaultHalf().max(4).build());
+        assertEquivalent(Redactor.defaulted(Redactor.limited(Redactor.mask())),
+                Redactor.builder().defaultHalf().limitHalf().build());
+        assertEquivalent(Redactor.limited(6, Redactor.limited(Redactor.mask())),
+                Redactor.builder().max(6).limitHalf().build());
+        assertEquivalent(Redactor.limited(Redactor.limited(2, Redactor.mask())),
+                Redactor.builder().limitHalf().max(2).build());
+        assertEquivalent(Redactor.limited(3, Redactor.limited(5, Redactor.defaulted(Redactor.mask()))),
+                Redactor.builder().max(3).max(5).defaultHalf().build());
+        assertEquivalent(Redactor.limited(5, Redactor.defaulted(Redactor.limited(3, Redactor.mask()))),
+                Redactor.builder().max(5).defaultHalf().max(3).build());
+    }
+
+    @Test
+    void testSignificant() throws Exception {
+        final CharPredicate letters = CharPredicate.letters();
+        assertEquivalent(Redactor.mask('*', letters), Redactor.builder().mask('*', letters).build());
+        assertEquivalent(Redactor.limited(letters::count, Redactor.mask(letters)),
+                Redactor.builder().limitHalf().mask('#', letters).build());
+        assertEquivalent(Redactor.limited(4, Redactor.defaulted(letters::count, Redactor.mask(letters))),
+                Redactor.builder().max(4).defaultHalf().mask('#', letters).build());
+        assertEquivalent(Redactor.mask(), Redactor.builder().mask('*', letters).mask('#').build());
+        assertEquals("####-####-1111-1111",
+                Redactor.builder().defaultHalf().mask('#', CharPredicate.digits()).build()
+                        .apply("4111-1111-1111-1111", -1).toString());
+    }
+
+    @Test
+    void testNegativeMax() {
+        assertThrows(IllegalArgumentException.class, () -> Redactor.builder().max(-1));
+    }
+}
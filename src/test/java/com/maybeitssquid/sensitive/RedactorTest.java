@@ -125,4 +125,59 @@ public class RedactorTest {
         assertEquals("abc", test.apply("abc", 3));
         assertEquals("abc", test.apply("abc", 4));
     }
+
+    @Test
+    void testMaskWide() {
+        final String wide = "x".repeat(200) + "tail";
+        final String expected = "#".repeat(200) + "tail";
+
+        assertEquals(expected, Redactor.mask().apply(wide, 4).toString());
+        assertEquals(expected, Redactor.mask().apply(new StringBuilder(wide), 4).toString());
+        assertEquals("•".repeat(200) + "tail", Redactor.mask('•').apply(wide, 4).toString());
+    }
+
+    @Test
+    void testMaskView() {
+        final Redactor<CharSequence> test = Redactor.maskView('*');
+
+        assertEquals("***", test.apply("abc", -1).toString());
+        assertEquals("***", test.apply("abc", 0).toString());
+        assertEquals("**c", test.apply("abc", 1).toString());
+        assertEquals("*bc", test.apply("abc", 2).toString());
+        assertEquals("abc", test.apply("abc", 3).toString());
+        assertEquals("abc", test.apply("abc", 4).toString());
+        assertEquals("##c", Redactor.maskView().apply("abc", 1).toString());
+        assertEquals("  ##c", String.format("%5.1s", new Sensitive<CharSequence>("abc") {
+            @Override
+            protected BiFunction<CharSequence, Integer, CharSequence> redactor() {
+                return Redactor.maskView();
+            }
+        }));
+    }
+
+    @Test
+    void testOf() {
+        final Redactor<CharSequence> mask = Redactor.mask();
+        assertSame(mask, Redactor.of(mask));
+
+        final BiFunction<CharSequence, Integer, CharSequence> plain = (t, p) -> "x" + p;
+        final Redactor<CharSequence> adapted = Redactor.of(plain);
+        assertEquals("x2", adapted.apply("abc", 2));
+        assertEquals(-1, adapted.redactedLength("abc", 2));
+    }
+
+    @Test
+    void testRedactTo() throws Exception {
+        final Redactor<CharSequence> test = Redactor.limited(2, Redactor.mask('*'));
+        for (int p = -1; p <= 4; p++) {
+            final StringBuilder out = new StringBuilder();
+            test.redactTo(out, "abcd", p);
+            assertEquals(test.apply("abcd", p).toString(), out.toString());
+            assertEquals(4, test.redactedLength("abcd", p));
+        }
+
+        final StringBuilder out = new StringBuilder();
+        Redactor.<Object>empty().redactTo(out, new Object(), 1);
+        assertEquals("", out.toString());
+    }
 }
@@ -0,0 +1,161 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecretDictionaryTest {
+
+    private static String scan(final SecretDictionary dictionary, final CharSequence in) throws IOException {
+        final StringBuilder out = new StringBuilder();
+        dictionary.scan(in, out);
+        return out.toString();
+    }
+
+    /**
+     * Reader that returns at most a few characters at a time so that entries span several reads.
+     */
+    private static final class TrickleReader extends Reader {
+        private final Reader in;
+        private final int size;
+
+        TrickleReader(final String text, final int size) {
+            this.in = new StringReader(text);
+            this.size = size;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            return in.read(buffer, offset, Math.min(size, length));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        assertEquals(0, dictionary.size());
+        assertEquals("nothing to see", scan(dictionary, "nothing to see"));
+        assertEquals("", scan(dictionary, ""));
+    }
+
+    @Test
+    void testScan() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        dictionary.add(new MaskedField("sk_live_abc"));
+        dictionary.add(new MaskedField("4111111111111111", '*'));
+        assertEquals("key=########### card=****************.",
+                scan(dictionary, "key=sk_live_abc card=4111111111111111."));
+        assertEquals("sk_live_ab sk_live_x", scan(dictionary, "sk_live_ab sk_live_x"));
+        assertEquals("######################", scan(dictionary, "sk_live_abcsk_live_abc"));
+        assertEquals("sk_###########", scan(dictionary, "sk_sk_live_abc"));
+    }
+
+    @Test
+    void testPrecision() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary(4);
+        dictionary.add(new MaskedField("123-45-6789"));
+        assertEquals("ssn #######6789", scan(dictionary, "ssn 123-45-6789"));
+    }
+
+    @Test
+    void testRedactor() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        dictionary.add(new Sensitive<CharSequence>("password") {
+            @Override
+            protected BiFunction<CharSequence, Integer, CharSequence> redactor() {
+                return (t, p) -> "[REDACTED]";
+            }
+        });
+        assertEquals("login [REDACTED]!", scan(dictionary, "login password!"));
+    }
+
+    @Test
+    void testOverlapping() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        dictionary.add(new MaskedField("abcd", 'x'));
+        dictionary.add(new MaskedField("bc", 'y'));
+        dictionary.add(new MaskedField("cdef", 'z'));
+        // The earliest occurrence is rendered in full
+        assertEquals("-xxxx-", scan(dictionary, "-abcd-"));
+        assertEquals("-yy-", scan(dictionary, "-bc-"));
+        // Later overlapping occurrences continue with the end of their own rendition
+        assertEquals("-xxxxzz-", scan(dictionary, "-abcdef-"));
+        assertEquals("-yyzzz-", scan(dictionary, "-bcdef-"));
+    }
+
+    @Test
+    void testNested() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        dictionary.add(new MaskedField("secret", 's'));
+        dictionary.add(new MaskedField("topsecretplan", 't'));
+        assertEquals("[ssssss]", scan(dictionary, "[secret]"));
+        assertEquals("[ttttttttttttt]", scan(dictionary, "[topsecretplan]"));
+        assertEquals("[topssssss!]", scan(dictionary, "[topsecret!]"));
+    }
+
+    @Test
+    void testAddRemove() throws IOException {
+        final SecretDictionary dictionary = new SecretDictionary();
+        final MaskedField secret = new MaskedField("hunter2");
+        assertTrue(dictionary.add(secret));
+        assertFalse(dictionary.add(new MaskedField("hunter2")));
+        assertEquals(1, dictionary.size());
+        assertEquals("pw #######", scan(dictionary, "pw hunter2"));
+        assertTrue(dictionary.remove(secret));
+        assertFalse(dictionary.remove(secret));
+        assertEquals("pw hunter2", scan(dictionary, "pw hunter2"));
+    }
+
+    @Test
+    void testReader() throws IOException {
+        final List<MaskedField> secrets = new ArrayList<>();
+        final Random random = new Random(7);
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            final String secret = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            secrets.add(new MaskedField(secret));
+            text.append("entry ").append(i).append(": ").append(secret).append(secret, 0, 3).append('\n');
+        }
+        final SecretDictionary dictionary = new SecretDictionary();
+        assertTrue(dictionary.addAll(secrets));
+        assertEquals(secrets.size(), dictionary.size());
+
+        final String expected = scan(dictionary, text);
+        for (final MaskedField secret : secrets) assertFalse(expected.contains(secret.sensitive));
+        assertEquals(text.length(), expected.length());
+        for (final int size : new int[]{1, 2, 5, 64, 8192}) {
+            final StringBuilder out = new StringBuilder();
+            dictionary.scan(new TrickleReader(text.toString(), size), out);
+            assertEquals(expected, out.toString(), "read size " + size);
+        }
+    }
+
+    @Test
+    void testConcurrentRebuild() throws Exception {
+        final SecretDictionary dictionary = new SecretDictionary();
+        dictionary.add(new MaskedField("fixed-secret"));
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200; i++) dictionary.add(new MaskedField("secret-" + i));
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertEquals("a ############ b", scan(dictionary, "a fixed-secret b"));
+        }
+        writer.join();
+        assertEquals(201, dictionary.size());
+        assertEquals("##########", scan(dictionary, "secret-199"));
+    }
+}
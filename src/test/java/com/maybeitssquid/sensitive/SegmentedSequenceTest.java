@@ -0,0 +1,42 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedSequenceTest {
+
+    private final SegmentedSequence test = new SegmentedSequence(new CharSequence[]{"ab", "", "cde"}, "--");
+
+    @Test
+    void testLength() {
+        assertEquals(9, test.length());
+        assertEquals(0, new SegmentedSequence(new CharSequence[0], "-").length());
+        assertEquals(3, new SegmentedSequence(new CharSequence[]{"abc"}, "-").length());
+    }
+
+    @Test
+    void testCharAt() {
+        final String joined = "ab----cde";
+        for (int i = 0; i < joined.length(); i++) assertEquals(joined.charAt(i), test.charAt(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> test.charAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> test.charAt(9));
+    }
+
+    @Test
+    void testSubSequence() {
+        final String joined = "ab----cde";
+        for (int start = 0; start <= joined.length(); start++) {
+            for (int end = start; end <= joined.length(); end++) {
+                assertEquals(joined.substring(start, end), test.subSequence(start, end).toString());
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> test.subSequence(3, 10));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("ab----cde", test.toString());
+        assertEquals("abc", new SegmentedSequence(new CharSequence[]{"a", "b", "c"}, "").toString());
+    }
+}
@@ -35,6 +35,26 @@ public class SensitiveArrayTest {
         assertFalse(sa.equals(new SensitiveArray<Object>(new Object[]{"a", "b", "c"})));
     }
 
+    @SuppressWarnings("all")
+    @Test
+    void testKeyed() {
+        final SensitiveArray<Object> sa = keyed(test);
+        assertEquals(sa.hashCode(), keyed(new Object[]{"a", "b"}).hashCode());
+        assertNotEquals(sa.hashCode(), keyed(new Object[]{"b", "a"}).hashCode());
+        assertTrue(sa.equals(keyed(new Object[]{"a", "b"})));
+        assertFalse(sa.equals(keyed(new Object[]{"a", "c"})));
+        assertFalse(sa.equals(keyed(new Object[]{"a", "b", "c"})));
+    }
+
+    private static SensitiveArray<Object> keyed(final Object[] values) {
+        return new SensitiveArray<>(values) {
+            @Override
+            protected boolean keyed() {
+                return true;
+            }
+        };
+    }
+
     @Test
     void testConcatenate() {
         final Function<CharSequence[], CharSequence> test = SensitiveArray.concatenate();
@@ -70,4 +90,41 @@ public class SensitiveArrayTest {
         final Function<Integer[], CharSequence> test3 = SensitiveArray.delimit("-", i -> "foo" + i);
         assertEquals("foo1-foo2-foo3", test3.apply(new Integer[]{1, 2, 3}));
     }
+
+    @Test
+    void testDelimitFunctionEmpty() {
+        final Function<Object[], CharSequence> test = SensitiveArray.delimit("-", Object::toString);
+        assertEquals("", test.apply(new Object[0]));
+        assertEquals("a", test.apply(new Object[]{"a"}));
+    }
+
+    @Test
+    void testSegmented() throws Exception {
+        final CharSequence[] card = {"4111", "1111", "1111", "1234"};
+        final Redactor<CharSequence[]> test = SensitiveArray.segmented(Redactor.mask());
+        assertEquals("###################", test.apply(card, -1).toString());
+        assertEquals("###############1234", test.apply(card, 4).toString());
+        assertEquals("##########1111-1234", test.apply(card, 9).toString());
+        assertEquals(19, test.redactedLength(card, 4));
+
+        final StringBuilder out = new StringBuilder();
+        test.redactTo(out, card, 5);
+        assertEquals("##############-1234", out.toString());
+
+        assertEquals("************1234", SensitiveArray.segmented("", Redactor.mask('*')).apply(card, 4).toString());
+        assertEquals("###1 1234", SensitiveArray.segmented(' ', Redactor.mask()).apply(new CharSequence[]{"1111", "1234"}, 6).toString());
+    }
+
+    @Test
+    void testSegmentedFormat() {
+        final SensitiveArray<CharSequence> test = new SensitiveArray<>(new CharSequence[]{"4111", "1111", "1111", "1234"}) {
+            @Override
+            protected Redactor<CharSequence[]> redactor() {
+                return SensitiveArray.segmented(Redactor.limited(4, Redactor.mask()));
+            }
+        };
+        assertEquals("###############1234", test.toString());
+        assertEquals("   ###############1234", String.format("%22s", test));
+        assertEquals("#################34", String.format("%.2s", test));
+    }
 }
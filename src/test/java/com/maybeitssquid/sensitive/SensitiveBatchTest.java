@@ -0,0 +1,67 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.FormattableFlags;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveBatchTest {
+
+    private final MaskedField first = new MaskedField("1234");
+
+    private final MaskedField second = new MaskedField("abcdef", '*');
+
+    private final Sensitive<Object> empty = new Sensitive<>(new Object());
+
+    @Test
+    void testWrite() throws Exception {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveBatch(",").write(out, List.of(first, second, empty));
+        assertEquals("####,******,", out.toString());
+    }
+
+    @Test
+    void testWriteFormatted() throws Exception {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveBatch(";", Locale.ROOT, FormattableFlags.UPPERCASE | FormattableFlags.LEFT_JUSTIFY, 8, 2)
+                .write(out, first, second);
+        assertEquals(String.format(Locale.ROOT, "%-8.2S;%-8.2S", first, second), out.toString());
+    }
+
+    @Test
+    void testWriteStream() throws Exception {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveBatch(", ", 0, -1, 3).write(out, Stream.of(first, second).parallel());
+        assertEquals("#234, ***def", out.toString());
+    }
+
+    @Test
+    void testWriteEmpty() throws Exception {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveBatch(",").write(out, List.of());
+        assertEquals("", out.toString());
+        new SensitiveBatch(",").writeParallel(out, List.of());
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    void testWriteParallel() throws Exception {
+        final List<MaskedField> values = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) values.add(new MaskedField(Integer.toString(i)));
+        final SensitiveBatch batch = new SensitiveBatch("\n", 0, 6, 1);
+
+        final StringBuilder expected = new StringBuilder();
+        batch.write(expected, values);
+        final StringBuilder actual = new StringBuilder();
+        batch.writeParallel(actual, values);
+
+        assertEquals(expected.toString(), actual.toString());
+        assertTrue(actual.toString().startsWith("     0\n     1\n"));
+        assertTrue(actual.toString().endsWith("\n ####9"));
+    }
+}
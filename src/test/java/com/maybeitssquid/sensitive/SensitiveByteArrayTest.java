@@ -0,0 +1,67 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveByteArrayTest {
+
+    private static final byte[] KEY = {0x01, (byte) 0xab, 0x7f, (byte) 0xf0};
+
+    @SuppressWarnings("all")
+    @Test
+    void testSensitiveByteArray() {
+        assertNotNull(new SensitiveByteArray(new byte[0]));
+        assertThrows(NullPointerException.class, () -> new SensitiveByteArray(null));
+    }
+
+    @Test
+    void testHex() throws Exception {
+        final Redactor<byte[]> test = SensitiveByteArray.hex('*');
+
+        assertEquals("********", test.apply(KEY, -1).toString());
+        assertEquals("*******0", test.apply(KEY, 1).toString());
+        assertEquals("*****ff0", test.apply(KEY, 3).toString());
+        assertEquals("01ab7ff0", test.apply(KEY, 8).toString());
+        assertEquals("01ab7ff0", test.apply(KEY, 9).toString());
+        assertEquals(8, test.redactedLength(KEY, 1));
+        assertEquals("####f0", SensitiveByteArray.hex().apply(new byte[]{0, 0, (byte) 0xf0}, 2).toString());
+
+        final StringBuilder out = new StringBuilder();
+        test.redactTo(out, KEY, 4);
+        assertEquals("****7ff0", out.toString());
+    }
+
+    @Test
+    void testClose() {
+        final byte[] bytes = KEY.clone();
+        final SensitiveByteArray test = new SensitiveByteArray(bytes) {
+            @Override
+            protected Redactor<byte[]> redactor() {
+                return SensitiveByteArray.hex();
+            }
+        };
+        assertEquals("######F0", String.format("%.2S", test));
+        test.close();
+        assertArrayEquals(new byte[4], bytes);
+        assertEquals("00000000", String.format("%.8s", test));
+    }
+
+    @Test
+    void testHashCode() {
+        assertEquals(Arrays.hashCode(KEY), new SensitiveByteArray(KEY).hashCode());
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    void testEquals() {
+        final SensitiveByteArray test = new SensitiveByteArray(KEY);
+        assertTrue(test.equals(test));
+        assertFalse(test.equals(null));
+        assertFalse(test.equals(new Object()));
+        assertTrue(test.equals(new SensitiveByteArray(KEY.clone())));
+        assertFalse(test.equals(new SensitiveByteArray(new byte[]{1})));
+    }
+}
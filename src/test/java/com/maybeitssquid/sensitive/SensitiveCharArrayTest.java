@@ -0,0 +1,96 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveCharArrayTest {
+
+    private static SensitiveCharArray masked(final char[] chars) {
+        return new SensitiveCharArray(chars) {
+            @Override
+            protected Redactor<char[]> redactor() {
+                return SensitiveCharArray.mask();
+            }
+        };
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    void testSensitiveCharArray() {
+        assertNotNull(new SensitiveCharArray(new char[0]));
+        assertThrows(NullPointerException.class, () -> new SensitiveCharArray(null));
+    }
+
+    @Test
+    void testMask() throws Exception {
+        final Redactor<char[]> test = SensitiveCharArray.mask('*');
+        final char[] chars = "abc".toCharArray();
+
+        assertEquals("***", test.apply(chars, -1).toString());
+        assertEquals("***", test.apply(chars, 0).toString());
+        assertEquals("**c", test.apply(chars, 1).toString());
+        assertEquals("abc", test.apply(chars, 3).toString());
+        assertEquals("abc", test.apply(chars, 4).toString());
+        assertEquals(3, test.redactedLength(chars, 1));
+
+        final StringBuilder out = new StringBuilder();
+        test.redactTo(out, chars, 2);
+        assertEquals("*bc", out.toString());
+    }
+
+    @Test
+    void testFormatTo() {
+        final SensitiveCharArray test = masked("secret".toCharArray());
+        assertEquals("######", test.toString());
+        assertEquals("####ET", String.format("%.2S", test));
+        assertEquals("  ####et", String.format("%8.2s", test));
+    }
+
+    @Test
+    void testClose() {
+        final char[] chars = "secret".toCharArray();
+        try (SensitiveCharArray test = masked(chars)) {
+            assertEquals("#####t", String.format("%.1s", test));
+        }
+        assertArrayEquals(new char[6], chars);
+    }
+
+    @Test
+    void testHashCode() {
+        final char[] chars = "secret".toCharArray();
+        assertEquals(Arrays.hashCode(chars), new SensitiveCharArray(chars).hashCode());
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    void testEquals() {
+        final SensitiveCharArray test = new SensitiveCharArray("ab".toCharArray());
+        assertTrue(test.equals(test));
+        assertFalse(test.equals(null));
+        assertFalse(test.equals(new Object()));
+        assertTrue(test.equals(new SensitiveCharArray("ab".toCharArray())));
+        assertFalse(test.equals(new SensitiveCharArray("abc".toCharArray())));
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    void testKeyed() {
+        final SensitiveCharArray test = keyed("secret".toCharArray());
+        assertEquals(test.hashCode(), keyed("secret".toCharArray()).hashCode());
+        assertTrue(test.equals(keyed("secret".toCharArray())));
+        assertFalse(test.equals(keyed("secreT".toCharArray())));
+        assertFalse(test.equals(keyed("secrets".toCharArray())));
+    }
+
+    private static SensitiveCharArray keyed(final char[] chars) {
+        return new SensitiveCharArray(chars) {
+            @Override
+            protected boolean keyed() {
+                return true;
+            }
+        };
+    }
+}
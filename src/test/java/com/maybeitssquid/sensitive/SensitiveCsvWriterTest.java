@@ -0,0 +1,34 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveCsvWriterTest {
+
+    @Test
+    void testRecords() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveCsvWriter(out)
+                .record("name", "ssn", "note")
+                .record("Ann", new MaskedField("123-45-6789"), "a, \"b\"")
+                .record(null, 42, "line\nbreak");
+        assertEquals("name,ssn,note\r\n"
+                + "Ann,\"###########\",\"a, \"\"b\"\"\"\r\n"
+                + ",42,\"line\nbreak\"\r\n", out.toString());
+    }
+
+    @Test
+    void testPrecision() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveCsvWriter(out, ';', 3)
+                .field(new MaskedField("ab\"cd"))
+                .field("x,y")
+                .field("x;y")
+                .endRecord();
+        assertEquals("\"##\"\"cd\";x,y;\"x;y\"\r\n", out.toString());
+        assertThrows(IllegalArgumentException.class, () -> new SensitiveCsvWriter(out, '"', -1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.maybeitssquid.sensitive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveJsonSerializerTest {
+
+    @Test
+    void testModule() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper().registerModule(SensitiveJsonSerializer.module());
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("ssn", new MaskedField("123-45-6789"));
+        record.put("quoted", new MaskedField("ab\"c", '*'));
+        record.put("list", List.of(new MaskedField("xyz")));
+        assertEquals("{\"ssn\":\"###########\",\"quoted\":\"****\",\"list\":[\"###\"]}",
+                mapper.writeValueAsString(record));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testPrecision() throws Exception {
+        final SimpleModule module = new SimpleModule()
+                .addSerializer((Class<Sensitive<?>>) (Class<?>) Sensitive.class, new SensitiveJsonSerializer(3));
+        final ObjectMapper mapper = new ObjectMapper().registerModule(module);
+        assertEquals("\"##\\\"\\\\c\"", mapper.writeValueAsString(new MaskedField("ab\"\\c")));
+        assertEquals("\"" + "#".repeat(97) + "xyz\"", mapper.writeValueAsString(new MaskedField("a".repeat(97) + "xyz")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitiveJsonWriterTest {
+
+    private static String json(final Object value) throws IOException {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveJsonWriter(out).value(value);
+        return out.toString();
+    }
+
+    @Test
+    void testScalars() throws IOException {
+        assertEquals("null", json(null));
+        assertEquals("\"abc\"", json("abc"));
+        assertEquals("\"x\"", json('x'));
+        assertEquals("42", json(42));
+        assertEquals("-7", json(-7L));
+        assertEquals("1.5", json(1.5));
+        assertEquals("1.50", json(new BigDecimal("1.50")));
+        assertEquals("true", json(true));
+        assertEquals("\"PT1S\"", json(java.time.Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> json(Double.NaN));
+    }
+
+    @Test
+    void testEscaping() throws IOException {
+        assertEquals("\"a\\\"b\\\\c\\n\\r\\t\\b\\f\\u0001\\u2028é\"", json("a\"b\\c\n\r\t\b\f\u0001\u2028é"));
+    }
+
+    @Test
+    void testSensitive() throws IOException {
+        final MaskedField ssn = new MaskedField("123-45-6789");
+        assertEquals("\"###########\"", json(ssn));
+        final StringBuilder out = new StringBuilder();
+        new SensitiveJsonWriter(out, 4).value(ssn);
+        assertEquals("\"#######6789\"", out.toString());
+        assertEquals("\"##\\\"\\\\\"", jsonAt(2, new MaskedField("ab\"\\")));
+    }
+
+    private static String jsonAt(final int precision, final Object value) throws IOException {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveJsonWriter(out, precision).value(value);
+        return out.toString();
+    }
+
+    @Test
+    void testCustomFormat() throws IOException {
+        final Sensitive<String> custom = new Sensitive<>("secret") {
+            @Override
+            protected BiFunction<String, Integer, CharSequence> redactor() {
+                return (t, p) -> "[" + t.length() + "]";
+            }
+
+            @Override
+            public void formatTo(final Formatter formatter, final int flags, final int width, final int precision) {
+                formatter.format("custom\"%d", precision);
+            }
+        };
+        assertEquals("\"custom\\\"-1\"", json(custom));
+    }
+
+    @Test
+    void testStructures() throws IOException {
+        final Map<Object, Object> record = new LinkedHashMap<>();
+        record.put("name", "Ann");
+        record.put("ssn", new MaskedField("123-45-6789"));
+        record.put("tags", List.of("a", "b"));
+        record.put("scores", new int[]{1, 2});
+        record.put("empty", List.of());
+        record.put(new MaskedField("key"), null);
+        assertEquals("{\"name\":\"Ann\",\"ssn\":\"###########\",\"tags\":[\"a\",\"b\"],\"scores\":[1,2],"
+                + "\"empty\":[],\"###\":null}", json(record));
+        assertEquals("[[],{},[null]]", json(Arrays.asList(List.of(), Map.of(), Arrays.asList((Object) null))));
+    }
+
+    @Test
+    void testStreaming() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        new SensitiveJsonWriter(out, 4)
+                .beginObject()
+                .name("card").value(new MaskedField("4111111111111111"))
+                .name("n").value(3)
+                .name("list").beginArray().value("x").value(false).nullValue().endArray()
+                .endObject();
+        assertEquals("{\"card\":\"############1111\",\"n\":3,\"list\":[\"x\",false,null]}", out.toString());
+
+        final SensitiveJsonWriter writer = new SensitiveJsonWriter(new StringBuilder());
+        assertThrows(IllegalStateException.class, writer::endObject);
+        writer.beginObject().name("a");
+        assertThrows(IllegalStateException.class, () -> writer.name("b"));
+    }
+}
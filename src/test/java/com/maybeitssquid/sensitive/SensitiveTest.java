@@ -2,6 +2,8 @@ package com.maybeitssquid.sensitive;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.function.BiFunction;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SensitiveTest {
@@ -38,6 +40,64 @@ public class SensitiveTest {
         assertEquals(" ", String.format("%#1s", sensitiveObj));
     }
 
+    @Test
+    void formatToBiFunction() {
+        final Sensitive<String> plain = new Sensitive<>(containedString) {
+            @Override
+            protected BiFunction<String, Integer, CharSequence> redactor() {
+                return (t, p) -> t.substring(0, p == -1 ? 0 : p);
+            }
+        };
+        assertEquals("", String.format("%s", plain));
+        assertEquals("tes", String.format("%.3s", plain));
+        assertEquals("  tes", String.format("%5.3s", plain));
+        assertEquals("tes  ", String.format("%-5.3s", plain));
+        assertEquals("TES  ", String.format("%-5.3S", plain));
+    }
+
+    @Test
+    void formatToMemoized() {
+        final int[] calls = new int[1];
+        final Sensitive<String> memoized = new Sensitive<>(containedString) {
+            @Override
+            protected BiFunction<String, Integer, CharSequence> redactor() {
+                return (t, p) -> {
+                    calls[0]++;
+                    return Redactor.mask().apply(t, p);
+                };
+            }
+
+            @Override
+            protected boolean memoize() {
+                return true;
+            }
+        };
+
+        assertEquals("#########", memoized.toString());
+        assertEquals("#########", memoized.toString());
+        assertEquals(1, calls[0]);
+
+        assertEquals("#####case", String.format("%.4s", memoized));
+        assertEquals("  #####CASE", String.format("%11.4S", memoized));
+        assertEquals("#####CASE", String.format("%.4S", memoized));
+        assertEquals("#########  ", String.format("%-11s", memoized));
+        assertEquals(2, calls[0]);
+
+        // Only the two most recent renditions are kept
+        assertEquals("#######se", String.format("%.2s", memoized));
+        assertEquals("#########", memoized.toString());
+        assertEquals("#####case", String.format("%.4s", memoized));
+        assertEquals(5, calls[0]);
+
+        // The alternate flag is part of the key
+        assertEquals("#########", String.format("%#s", memoized));
+        assertEquals(6, calls[0]);
+
+        // Precisions never share a key, even at the extremes
+        assertEquals(containedString, String.format("%." + Integer.MAX_VALUE + "s", memoized));
+        assertEquals("#########", memoized.toString());
+        assertEquals(containedString, String.format("%." + Integer.MAX_VALUE + "s", memoized));
+    }
 
     @Test
     void testToString() {
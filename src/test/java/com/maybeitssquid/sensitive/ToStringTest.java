@@ -0,0 +1,93 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Formatter;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the direct {@link Sensitive#toString()} path renders exactly what {@code String.format("%s", …)} does.
+ */
+public class ToStringTest {
+
+    private static final String[] VALUES = {"", "a", "ab", "test case", "4111-1111-1111-1111", "straße"};
+
+    private static <T> Sensitive<T> wrap(final T value, final BiFunction<T, Integer, CharSequence> redactor) {
+        return new Sensitive<>(value) {
+            @Override
+            protected BiFunction<T, Integer, CharSequence> redactor() {
+                return redactor;
+            }
+        };
+    }
+
+    private static void assertEquivalent(final BiFunction<CharSequence, Integer, CharSequence> redactor) {
+        for (final String value : VALUES) {
+            final Sensitive<CharSequence> test = wrap(value, redactor);
+            assertEquals(String.format("%s", test), test.toString(), value);
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquivalent(Redactor.empty());
+    }
+
+    @Test
+    void testMask() {
+        assertEquivalent(Redactor.mask());
+        assertEquivalent(Redactor.mask('*'));
+    }
+
+    @Test
+    void testMaskView() {
+        assertEquivalent(Redactor.maskView());
+        assertEquivalent(Redactor.maskView('*'));
+    }
+
+    @Test
+    void testLimited() {
+        assertEquivalent(Redactor.limited(4, Redactor.mask()));
+        assertEquivalent(Redactor.limited(Redactor.mask()));
+        assertEquivalent(Redactor.limited(CharSequence::length, Redactor.mask()));
+    }
+
+    @Test
+    void testDefaulted() {
+        assertEquivalent(Redactor.defaulted(Redactor.mask()));
+        assertEquivalent(Redactor.defaulted(CharSequence::length, Redactor.mask()));
+        assertEquivalent(Redactor.limited(4, Redactor.defaulted(Redactor.mask('*'))));
+    }
+
+    @Test
+    void testBiFunction() {
+        assertEquivalent((t, p) -> "p=" + p + ",len=" + t.length());
+    }
+
+    @Test
+    void testSubclasses() {
+        final MaskedField field = new MaskedField("test case");
+        assertEquals(String.format("%s", field), field.toString());
+
+        final MaskedField memoized = new MaskedField("test case", '*', true);
+        assertEquals(String.format("%s", memoized), memoized.toString());
+        assertEquals(String.format("%s", memoized), memoized.toString());
+
+        final Sensitive<Object> object = new Sensitive<>(new Object());
+        assertEquals(String.format("%s", object), object.toString());
+    }
+
+    @Test
+    void testOverriddenFormatTo() {
+        final Sensitive<String> test = new Sensitive<>("test case") {
+            @Override
+            public void formatTo(final Formatter formatter, final int flags, final int width, final int precision) {
+                formatter.format("[%d,%d,%d]", flags, width, precision);
+            }
+        };
+        assertEquals("[0,-1,-1]", test.toString());
+        assertEquals(String.format("%s", test), test.toString());
+    }
+}
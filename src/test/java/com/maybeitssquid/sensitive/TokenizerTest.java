@@ -0,0 +1,196 @@
+package com.maybeitssquid.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenizerTest {
+
+    private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] OTHER_KEY = "fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+
+    private static void assertSameFormat(final String plain, final String token) {
+        assertEquals(plain.length(), token.length());
+        for (int i = 0; i < plain.length(); ) {
+            final int p = plain.codePointAt(i);
+            final int t = token.codePointAt(i);
+            final TokenAlphabet alphabet = TokenAlphabet.of(p);
+            if (alphabet == null) {
+                assertEquals(p, t, token);
+            } else {
+                assertTrue(alphabet == TokenAlphabet.of(t), token);
+                assertEquals(Character.charCount(p), Character.charCount(t), token);
+                // Digits keep their script
+                if (alphabet == TokenAlphabet.DIGITS) assertEquals(p - alphabet.numeral(p), t - alphabet.numeral(t), token);
+            }
+            i += Character.charCount(p);
+        }
+    }
+
+    @Test
+    void testFormatPreserved() {
+        final Tokenizer tokenizer = new Tokenizer(KEY);
+        for (final String plain : new String[]{"4111-1111-1111-1111", "123-45-6789", "John Smith", "x", "",
+                "user@example.com", "Ünïcødé 42", "a1B2-c3D4", "Дмитрий Иванов", "张伟",
+                "٤١١١-١١١١", "\uD840\uDC00\uD840\uDC01 x", "e\u0301te"}) {
+            assertSameFormat(plain, tokenizer.tokenize(plain));
+        }
+        assertNotEquals("4111-1111-1111-1111", tokenizer.tokenize("4111-1111-1111-1111"));
+    }
+
+    @Test
+    void testOtherScripts() {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 0);
+        for (final String plain : new String[]{"Ünïcødé", "Дмитрий", "张伟", "٤١١١١١١١", "\uD840\uDC00\uD840\uDC01"}) {
+            final String token = tokenizer.tokenize(plain);
+            assertSameFormat(plain, token);
+            assertNotEquals(plain, token);
+        }
+        assertEquals("\u0301", tokenizer.tokenize("e\u0301").substring(1));
+
+        final String token = tokenizer.tokenize("\uD840\uDC00x\uD840\uDC01");
+        assertEquals(token.substring(0, 3) + "\uD840\uDC01", tokenizer.redact("\uD840\uDC00x\uD840\uDC01", 2).toString());
+        assertEquals(token, tokenizer.redact("\uD840\uDC00x\uD840\uDC01", 1).toString());
+    }
+
+    @Test
+    void testPinned() {
+        // Classes are pinned, so these tokens are the same on every JVM
+        final Tokenizer tokenizer = new Tokenizer(KEY, 0);
+        assertEquals("1835-9056", tokenizer.tokenize("4111-1111"));
+        assertEquals("Biqy Ptnnj", tokenizer.tokenize("John Smith"));
+        assertEquals("\u01C4h\u0296n\u02A3h\u028F", tokenizer.tokenize("Ünïcødé"));
+        assertEquals("\u04D8\u0477\u1C80\u0501\u1C87\u0453\u0446", tokenizer.tokenize("Дмитрий"));
+        assertEquals("\u60AA\uFA4B", tokenizer.tokenize("张伟"));
+        assertEquals("\u0661\u0668\u0663\u0665-\u0669\u0660\u0665\u0666", tokenizer.tokenize("٤١١١-١١١١"));
+        assertEquals("\uD85C\uDD88\uD855\uDDB3", tokenizer.tokenize("\uD840\uDC00\uD840\uDC01"));
+        assertEquals("\u1FB8\u03B4\u1F15\u1FB0\u03C6", tokenizer.tokenize("Ελένη"));
+    }
+
+    @Test
+    void testStable() {
+        final String token = new Tokenizer(KEY).tokenize("123-45-6789");
+        assertEquals(token, new Tokenizer(KEY).tokenize("123-45-6789"));
+        assertEquals(token, new Tokenizer(KEY, 0).tokenize(new StringBuilder("123-45-6789")));
+        assertNotEquals(token, new Tokenizer(OTHER_KEY).tokenize("123-45-6789"));
+    }
+
+    @Test
+    void testDistinct() {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 0);
+        final Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 1000; i++) tokens.add(tokenizer.tokenize(String.format("%03d", i)));
+        assertEquals(1000, tokens.size());
+
+        tokens.clear();
+        for (int i = 0; i < 26 * 26; i++) tokens.add(tokenizer.tokenize("" + (char) ('a' + i / 26) + (char) ('a' + i % 26)));
+        assertEquals(26 * 26, tokens.size());
+
+        tokens.clear();
+        for (long i = 0; i < 5000; i++) tokens.add(tokenizer.tokenize(String.format("4111%012d", i * 7919)));
+        assertEquals(5000, tokens.size());
+    }
+
+    @Test
+    void testLongValues() {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 0);
+        final String digits = "1234567890".repeat(10);
+        final String token = tokenizer.tokenize(digits);
+        assertSameFormat(digits, token);
+        final String changed = digits.substring(0, 99) + "1";
+        assertNotEquals(token.substring(0, 99), tokenizer.tokenize(changed).substring(0, 99));
+        final String letters = "abcdefghijklmnopqrstuvwxyz".repeat(3);
+        assertSameFormat(letters, tokenizer.tokenize(letters));
+    }
+
+    @Test
+    void testClassesAreBound() {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 0);
+        final String first = tokenizer.tokenize("abc-12");
+        final String second = tokenizer.tokenize("abc-13");
+        assertNotEquals(first.substring(0, 3), second.substring(0, 3));
+    }
+
+    @Test
+    void testRedact() {
+        final Tokenizer tokenizer = new Tokenizer(KEY);
+        final String token = tokenizer.tokenize("123-45-6789");
+        assertEquals(token, tokenizer.redact("123-45-6789", -1).toString());
+        assertEquals(token, tokenizer.redact("123-45-6789", 0).toString());
+        assertEquals(token.substring(0, 7) + "6789", tokenizer.redact("123-45-6789", 4).toString());
+        assertEquals(token.substring(0, 7) + "6789", tokenizer.apply("123-45-6789", 4).toString());
+        assertEquals("123-45-6789", tokenizer.redact("123-45-6789", 11).toString());
+        assertEquals(11, tokenizer.redactedLength("123-45-6789", 0));
+        assertEquals(token, Redactor.tokenize(KEY).redact("123-45-6789", -1).toString());
+    }
+
+    @Test
+    void testFormatted() {
+        final Tokenizer tokenizer = new Tokenizer(KEY);
+        final Sensitive<CharSequence> ssn = new Sensitive<>("123-45-6789") {
+            @Override
+            protected Redactor<CharSequence> redactor() {
+                return tokenizer;
+            }
+        };
+        assertEquals(tokenizer.tokenize("123-45-6789"), ssn.toString());
+        assertEquals(" " + tokenizer.tokenize("123-45-6789"), String.format("%12s", ssn));
+    }
+
+    @Test
+    void testCache() {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 64);
+        for (int i = 0; i < 1000; i++) tokenizer.tokenize(Integer.toString(i));
+        assertTrue(tokenizer.cached() <= 64);
+        assertTrue(tokenizer.cached() > 0);
+        assertEquals(new Tokenizer(KEY, 0).tokenize("999"), tokenizer.tokenize("999"));
+        assertEquals(0, new Tokenizer(KEY, 0).cached());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        final TokenCache cache = new TokenCache(2);
+        cache.put("a", "x");
+        cache.put("b", "y");
+        assertEquals("x", cache.get("a"));
+        cache.put("c", "z");
+        assertEquals("x", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("z", cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new Tokenizer(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> new Tokenizer(KEY, -1));
+    }
+
+    @Test
+    void testConcurrent() throws Exception {
+        final Tokenizer tokenizer = new Tokenizer(KEY, 128);
+        final Tokenizer reference = new Tokenizer(KEY, 0);
+        final Thread[] threads = new Thread[4];
+        final Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        final String plain = Integer.toString(i % 300);
+                        assertEquals(reference.tokenize(plain), tokenizer.tokenize(plain));
+                    }
+                } catch (final Throwable e) {
+                    failure[0] = e;
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) thread.join();
+        assertNull(failure[0]);
+    }
+}